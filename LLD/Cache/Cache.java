@@ -0,0 +1,17 @@
+package LLD.Cache;
+
+/**
+ * Common contract for every cache in this repository.
+ */
+public interface Cache<K, V> {
+    /**
+     * Returns the cached value or null; counts as an access for the eviction policy.
+     */
+    V get(K key);
+
+    void put(K key, V value);
+
+    void remove(K key);
+
+    int size();
+}
@@ -0,0 +1,94 @@
+package LLD.Cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe, capacity-bounded storage shared by the LRU and LFU caches.
+ * Uses:
+ * - map: key -> node (for O(1) lookup)
+ * - policy: EvictionPolicy that orders nodes and picks victims
+ *
+ * Every public method locks the engine's monitor. Facades that expose
+ * policy-specific views (e.g. LFU top-k) synchronize on the engine so they see
+ * the same consistent state.
+ */
+public class CacheEngine<K, V> implements Cache<K, V> {
+    private final int capacity;
+    private final Map<K, Node<K, V>> map;
+    private final EvictionPolicy<K, V> policy;
+
+    public CacheEngine(int capacity, EvictionPolicy<K, V> policy) {
+        this.capacity = capacity;
+        this.map = new HashMap<>();
+        this.policy = policy;
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            return null;
+        }
+        policy.onAccess(node);
+        return node.value;
+    }
+
+    @Override
+    public synchronized void put(K key, V value) {
+        if (capacity == 0) {
+            return;
+        }
+        Node<K, V> existing = map.get(key);
+        if (existing != null) {
+            existing.value = value;
+            policy.onAccess(existing);
+            return;
+        }
+        insert(key, value, 0);
+    }
+
+    @Override
+    public synchronized void remove(K key) {
+        Node<K, V> node = map.remove(key);
+        if (node != null) {
+            policy.onRemove(node);
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return map.size();
+    }
+
+    /**
+     * Inserts a key with previously learned policy state (e.g. an LFU frequency)
+     * without counting it as an access. Keys already present are left untouched.
+     */
+    public synchronized boolean restore(K key, V value, int freq) {
+        if (capacity == 0 || map.containsKey(key)) {
+            return false;
+        }
+        insert(key, value, freq);
+        return true;
+    }
+
+    private void insert(K key, V value, int freq) {
+        if (map.size() == capacity) {
+            evict();
+        }
+        Node<K, V> node = new Node<>(key, value);
+        node.freq = freq;
+        map.put(key, node);
+        policy.onInsert(node);
+    }
+
+    private void evict() {
+        Node<K, V> victim = policy.selectVictim();
+        if (victim == null) {
+            return; // should not happen if invariants hold
+        }
+        policy.onRemove(victim);
+        map.remove(victim.key);
+    }
+}
@@ -0,0 +1,83 @@
+package LLD.Cache;
+
+/**
+ * Intrusive doubly linked list of nodes with sentinel head and tail.
+ * Head is the most recently used end, tail the least recently used.
+ */
+public class DoublyLinkedList<K, V> {
+    private final Node<K, V> head;
+    private final Node<K, V> tail;
+    private int size;
+
+    public DoublyLinkedList() {
+        head = new Node<>(null, null);
+        tail = new Node<>(null, null);
+        head.next = tail;
+        tail.prev = head;
+        size = 0;
+    }
+
+    public void addFirst(Node<K, V> node) {
+        node.next = head.next;
+        node.prev = head;
+        head.next.prev = node;
+        head.next = node;
+        size++;
+    }
+
+    public void remove(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        size--;
+    }
+
+    public void moveToFront(Node<K, V> node) {
+        remove(node);
+        addFirst(node);
+    }
+
+    public Node<K, V> removeLast() {
+        if (head.next == tail) {
+            return null;
+        }
+        Node<K, V> last = tail.prev;
+        remove(last);
+        return last;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Most recently used node, or null if the list is empty.
+     */
+    public Node<K, V> first() {
+        return head.next == tail ? null : head.next;
+    }
+
+    /**
+     * Node after the given one (towards LRU), or null at the end of the list.
+     */
+    public Node<K, V> next(Node<K, V> node) {
+        return node.next == tail ? null : node.next;
+    }
+
+    /**
+     * Least recently used node, or null if the list is empty.
+     */
+    public Node<K, V> last() {
+        return tail.prev == head ? null : tail.prev;
+    }
+
+    /**
+     * Node before the given one (towards MRU), or null at the start of the list.
+     */
+    public Node<K, V> previous(Node<K, V> node) {
+        return node.prev == head ? null : node.prev;
+    }
+}
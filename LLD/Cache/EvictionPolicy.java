@@ -0,0 +1,34 @@
+package LLD.Cache;
+
+/**
+ * SPI that decides eviction order for a CacheEngine.
+ *
+ * The engine owns the key -> node map and calls these hooks while holding its
+ * lock, so implementations need no synchronization of their own. Hooks should be
+ * small, allocation-free where possible, and implemented by final classes: with a
+ * single policy class loaded the call sites in CacheEngine stay monomorphic and
+ * the JIT can inline them.
+ */
+public interface EvictionPolicy<K, V> {
+    /**
+     * A new node was added. node.getFreq() is 0 for fresh entries, or the value
+     * being restored when the engine is rebuilt from saved state.
+     */
+    void onInsert(Node<K, V> node);
+
+    /**
+     * An existing node was read or overwritten.
+     */
+    void onAccess(Node<K, V> node);
+
+    /**
+     * A node is leaving the cache, either removed explicitly or chosen as victim.
+     */
+    void onRemove(Node<K, V> node);
+
+    /**
+     * Picks the node to evict; called only when the engine is about to evict it.
+     * Returns null if the policy tracks no nodes.
+     */
+    Node<K, V> selectVictim();
+}
@@ -0,0 +1,35 @@
+package LLD.Cache;
+
+/**
+ * A cache entry plus the bookkeeping eviction policies need:
+ * - prev/next links for the policy's DoublyLinkedList
+ * - freq, free for the policy to use (access count, priority, ...)
+ */
+public class Node<K, V> {
+    final K key;
+    V value;
+    int freq;
+    Node<K, V> prev;
+    Node<K, V> next;
+
+    public Node(K key, V value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    public K getKey() {
+        return key;
+    }
+
+    public V getValue() {
+        return value;
+    }
+
+    public int getFreq() {
+        return freq;
+    }
+
+    public void setFreq(int freq) {
+        this.freq = freq;
+    }
+}
@@ -0,0 +1,139 @@
+package LLD.LFUCache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+import LLD.Cache.Cache;
+
+/**
+ * Concurrent, approximate LFU cache.
+ * Uses:
+ * - map: ConcurrentHashMap key -> entry, so get() never takes a lock
+ * - sketch: CountMinSketch holding approximate access frequencies
+ * - slots: dense array of entries so eviction can sample uniformly at random
+ *
+ * Eviction strategy:
+ * - Sample SAMPLE_SIZE random entries and evict the one with the lowest
+ *   estimated frequency (Redis-style sampled LFU).
+ *
+ * Trade-off vs LFUCache: victims are only approximately least frequent, but
+ * reads scale across cores because they touch no shared lock or list.
+ * Structural writes (insert, evict, remove) are serialized by writeLock.
+ */
+public class ConcurrentLFUCache<K, V> implements Cache<K, V> {
+    private static final int SAMPLE_SIZE = 8;
+
+    private final int capacity;
+    private final Map<K, Entry<K, V>> map;
+    private final CountMinSketch sketch;
+    private final ReentrantLock writeLock;
+    private final Entry<K, V>[] slots;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLFUCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be non-negative");
+        }
+        this.capacity = capacity;
+        this.map = new ConcurrentHashMap<>();
+        this.sketch = new CountMinSketch(capacity);
+        this.writeLock = new ReentrantLock();
+        this.slots = (Entry<K, V>[]) new Entry<?, ?>[capacity];
+        this.size = 0;
+    }
+
+    @Override
+    public V get(K key) {
+        sketch.increment(key);
+        Entry<K, V> entry = map.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (capacity == 0) {
+            return;
+        }
+        sketch.increment(key);
+        Entry<K, V> existing = map.get(key);
+        if (existing != null) {
+            existing.value = value;
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            existing = map.get(key);
+            if (existing != null) {
+                existing.value = value;
+                return;
+            }
+            if (size == capacity) {
+                evictSampled();
+            }
+            Entry<K, V> entry = new Entry<>(key, value, size);
+            slots[size++] = entry;
+            map.put(key, entry);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(K key) {
+        writeLock.lock();
+        try {
+            Entry<K, V> entry = map.remove(key);
+            if (entry != null) {
+                removeSlot(entry.slot);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    private void evictSampled() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int victimSlot = -1;
+        int victimFreq = Integer.MAX_VALUE;
+        int samples = Math.min(SAMPLE_SIZE, size);
+        for (int i = 0; i < samples; i++) {
+            int slot = random.nextInt(size);
+            int freq = sketch.estimate(slots[slot].key);
+            if (freq < victimFreq) {
+                victimFreq = freq;
+                victimSlot = slot;
+            }
+        }
+        map.remove(slots[victimSlot].key);
+        removeSlot(victimSlot);
+    }
+
+    // swap the last entry into the hole so slots stays dense
+    private void removeSlot(int slot) {
+        Entry<K, V> last = slots[--size];
+        slots[slot] = last;
+        last.slot = slot;
+        slots[size] = null;
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        volatile V value;
+        int slot; // guarded by writeLock
+
+        Entry(K key, V value, int slot) {
+            this.key = key;
+            this.value = value;
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package LLD.LFUCache;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free count-min sketch used to approximate access frequencies.
+ * - DEPTH rows of counters, each indexed by a differently seeded hash of the key.
+ * - increment() bumps one counter per row with an atomic add.
+ * - estimate() returns the minimum across rows (never underestimates).
+ *
+ * Counters are halved once sampleSize increments have been recorded, so the
+ * sketch tracks recent popularity instead of all-time totals.
+ */
+public class CountMinSketch {
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final AtomicIntegerArray counters;
+    private final int mask;
+    private final long sampleSize;
+    private final AtomicLong additions;
+
+    public CountMinSketch(int expectedEntries) {
+        int width = Integer.highestOneBit(Math.max(16, expectedEntries - 1) << 1);
+        this.counters = new AtomicIntegerArray(DEPTH * width);
+        this.mask = width - 1;
+        this.sampleSize = 10L * width;
+        this.additions = new AtomicLong();
+    }
+
+    public void increment(Object key) {
+        int hash = spread(key);
+        for (int row = 0; row < DEPTH; row++) {
+            counters.getAndIncrement(indexOf(hash, row));
+        }
+        if (additions.incrementAndGet() == sampleSize) {
+            reset();
+        }
+    }
+
+    public int estimate(Object key) {
+        int hash = spread(key);
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.get(indexOf(hash, row)));
+        }
+        return min;
+    }
+
+    /**
+     * Halves every counter. Concurrent increments may be lost or halved twice,
+     * which only adds noise to an already approximate count.
+     */
+    private void reset() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+        additions.set(0);
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * SEEDS[row];
+        h ^= h >>> 16;
+        return row * (mask + 1) + (h & mask);
+    }
+
+    private static int spread(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x7FEB352D;
+        h ^= h >>> 15;
+        return h;
+    }
+}
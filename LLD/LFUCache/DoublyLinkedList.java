@@ -1,43 +0,0 @@
-package LLD.LFUCache;
-
-public class DoublyLinkedList<K, V> {
-    private final Node<K, V> head;
-    private final Node<K, V> tail;
-    private int size;
-
-    public DoublyLinkedList() {
-        head = new Node<>(null, null);
-        tail = new Node<>(null, null);
-        head.next = tail;
-        tail.prev = head;
-        size = 0;
-    }
-
-    public void addFirst(Node<K, V> node) {
-        node.next = head.next;
-        node.prev = head;
-        head.next.prev = node;
-        head.next = node;
-        size++;
-    }
-
-    public void remove(Node<K, V> node) {
-        node.prev.next = node.next;
-        node.next.prev = node.prev;
-        size--;
-    }
-
-    public Node<K, V> removeLast() {
-        if (head.next == tail) {
-            return null;
-        }
-        Node<K, V> last = tail.prev;
-        remove(last);
-        return last;
-    }
-
-    public boolean isEmpty() {
-        return size == 0;
-    }
-}
-
@@ -0,0 +1,17 @@
+package LLD.LFUCache;
+
+import LLD.Cache.DoublyLinkedList;
+
+/**
+ * Nodes sharing one frequency, MRU at head and LRU at tail, chained to the
+ * neighbouring non-empty buckets in ascending frequency order.
+ */
+final class FrequencyBucket<K, V> extends DoublyLinkedList<K, V> {
+    final int freq;
+    FrequencyBucket<K, V> lowerBucket;
+    FrequencyBucket<K, V> higherBucket;
+
+    FrequencyBucket(int freq) {
+        this.freq = freq;
+    }
+}
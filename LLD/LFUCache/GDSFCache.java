@@ -0,0 +1,197 @@
+package LLD.LFUCache;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import LLD.Cache.Cache;
+import LLD.Cache.Node;
+
+/**
+ * Thread-safe GDSF (Greedy-Dual-Size-Frequency) cache bounded by total weight.
+ * Uses:
+ * - keyToEntry map: key -> entry (for O(1) lookup)
+ * - heap: indexed binary min-heap ordered by priority; every entry stores its
+ *   heap position so a priority change is a single O(log n) sift
+ *
+ * Priority of an entry:
+ *   H = clock + freq * cost / size
+ * - freq is the access count, kept in the entry's Node.freq as in LFUCache.
+ * - cost is what it takes to recompute the value, size is its weight.
+ * - clock is raised to the priority of every evicted entry (inflation), so
+ *   entries that stop being accessed eventually fall behind newer ones.
+ *
+ * Eviction strategy:
+ * - Evict the lowest-priority entries until the new entry fits maxWeight.
+ *
+ * Why not CacheEngine + LFUEvictionPolicy: the engine bounds the entry count, not
+ * the weight, and the LFU bucket chain is O(1) only because a hit moves a node to
+ * the next integer frequency. Here two entries with the same frequency rank
+ * differently by cost / size, so the order is by a real-valued priority and needs
+ * the heap.
+ */
+public class GDSFCache<K, V> implements Cache<K, V> {
+    private final long maxWeight;
+    private final Map<K, Entry<K, V>> keyToEntry;
+    private Entry<K, V>[] heap;
+    private int heapSize;
+    private long totalWeight;
+    private double clock;
+
+    @SuppressWarnings("unchecked")
+    public GDSFCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+        this.keyToEntry = new HashMap<>();
+        this.heap = (Entry<K, V>[]) new Entry<?, ?>[16];
+        this.heapSize = 0;
+        this.totalWeight = 0;
+        this.clock = 0;
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        Entry<K, V> entry = keyToEntry.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.setFreq(entry.getFreq() + 1);
+        reprioritize(entry);
+        return entry.getValue();
+    }
+
+    /**
+     * Caches value with unit weight and unit cost, which degrades to LFU with aging.
+     */
+    @Override
+    public void put(K key, V value) {
+        put(key, value, 1, 1.0);
+    }
+
+    /**
+     * Caches value with the given weight and recompute cost.
+     * Values heavier than the whole budget are not cached.
+     */
+    public synchronized void put(K key, V value, long size, double cost) {
+        if (size <= 0 || cost < 0) {
+            throw new IllegalArgumentException("size must be positive and cost non-negative");
+        }
+        Entry<K, V> existing = keyToEntry.get(key);
+        if (existing != null) {
+            removeEntry(existing);
+        }
+        if (size > maxWeight) {
+            return;
+        }
+        while (totalWeight + size > maxWeight) {
+            Entry<K, V> victim = heap[0];
+            clock = victim.priority;
+            removeEntry(victim);
+        }
+
+        Entry<K, V> entry = new Entry<>(key, value, size, cost);
+        entry.setFreq(existing == null ? 1 : existing.getFreq() + 1);
+        entry.priority = priorityOf(entry);
+        keyToEntry.put(key, entry);
+        totalWeight += size;
+        push(entry);
+    }
+
+    @Override
+    public synchronized void remove(K key) {
+        Entry<K, V> entry = keyToEntry.get(key);
+        if (entry != null) {
+            removeEntry(entry);
+        }
+    }
+
+    public synchronized long getTotalWeight() {
+        return totalWeight;
+    }
+
+    @Override
+    public synchronized int size() {
+        return keyToEntry.size();
+    }
+
+    private double priorityOf(Entry<K, V> entry) {
+        return clock + entry.getFreq() * entry.cost / entry.size;
+    }
+
+    private void reprioritize(Entry<K, V> entry) {
+        entry.priority = priorityOf(entry);
+        // priority only grows on access, so the entry can only move down
+        siftDown(entry.heapIndex);
+    }
+
+    private void removeEntry(Entry<K, V> entry) {
+        keyToEntry.remove(entry.getKey());
+        totalWeight -= entry.size;
+        int index = entry.heapIndex;
+        Entry<K, V> last = heap[--heapSize];
+        heap[heapSize] = null;
+        entry.heapIndex = -1;
+        if (index == heapSize) {
+            return;
+        }
+        place(last, index);
+        siftUp(index);
+        siftDown(last.heapIndex);
+    }
+
+    private void push(Entry<K, V> entry) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        place(entry, heapSize++);
+        siftUp(entry.heapIndex);
+    }
+
+    private void siftUp(int index) {
+        Entry<K, V> entry = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].priority <= entry.priority) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(entry, index);
+    }
+
+    private void siftDown(int index) {
+        Entry<K, V> entry = heap[index];
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < heapSize && heap[right].priority < heap[child].priority) {
+                child = right;
+            }
+            if (entry.priority <= heap[child].priority) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(entry, index);
+    }
+
+    private void place(Entry<K, V> entry, int index) {
+        heap[index] = entry;
+        entry.heapIndex = index;
+    }
+
+    private static final class Entry<K, V> extends Node<K, V> {
+        final long size;
+        final double cost;
+        double priority;
+        int heapIndex;
+
+        Entry(K key, V value, long size, double cost) {
+            super(key, value);
+            this.size = size;
+            this.cost = cost;
+        }
+    }
+}
@@ -1,123 +1,104 @@
 package LLD.LFUCache;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import LLD.Cache.Cache;
+import LLD.Cache.CacheEngine;
+
 /**
- * Thread-safe LFU (Least Frequently Used) cache implementation.
- * Uses:
- * - keyToNode map: key -> node (for O(1) lookup)
- * - freqToList map: frequency -> doubly linked list of nodes with that frequency
- *
- * Eviction strategy:
- * - Evict least frequently used node.
- * - On ties (same frequency), evict the least recently used within that frequency,
- *   maintained by the list order (MRU at head, LRU at tail).
+ * Thread-safe LFU (Least Frequently Used) cache: a CacheEngine driven by
+ * LFUEvictionPolicy. See LFUEvictionPolicy for the eviction and dynamic aging rules.
  */
-public class LFUCache<K, V> {
-    private final int capacity;
-    private final Map<K, Node<K, V>> keyToNode;
-    private final Map<Integer, DoublyLinkedList<K, V>> freqToList;
-    private int minFreq;
+public class LFUCache<K, V> implements Cache<K, V> {
+    private final LFUEvictionPolicy<K, V> policy;
+    private final CacheEngine<K, V> engine;
 
     public LFUCache(int capacity) {
-        this.capacity = capacity;
-        this.keyToNode = new HashMap<>();
-        this.freqToList = new HashMap<>();
-        this.minFreq = 0;
+        this(capacity, new LFUEvictionPolicy<>());
     }
 
-    public synchronized V get(K key) {
-        if (capacity == 0 || !keyToNode.containsKey(key)) {
-            return null;
-        }
-        Node<K, V> node = keyToNode.get(key);
-        increaseFrequency(node);
-        return node.value;
+    /**
+     * Creates an LFU-DA cache. A smaller maxAgeLead reclaims formerly hot keys
+     * sooner; Integer.MAX_VALUE gives textbook LFU-DA with no cap.
+     */
+    public LFUCache(int capacity, int maxAgeLead) {
+        this(capacity, new LFUEvictionPolicy<>(maxAgeLead));
     }
 
-    public synchronized void put(K key, V value) {
-        if (capacity == 0) {
-            return;
-        }
+    private LFUCache(int capacity, LFUEvictionPolicy<K, V> policy) {
+        this.policy = policy;
+        this.engine = new CacheEngine<>(capacity, policy);
+    }
 
-        if (keyToNode.containsKey(key)) {
-            Node<K, V> existing = keyToNode.get(key);
-            existing.value = value;
-            increaseFrequency(existing);
-            return;
-        }
+    @Override
+    public V get(K key) {
+        return engine.get(key);
+    }
 
-        if (keyToNode.size() == capacity) {
-            evictLeastFrequent();
-        }
+    @Override
+    public void put(K key, V value) {
+        engine.put(key, value);
+    }
 
-        Node<K, V> newNode = new Node<>(key, value);
-        DoublyLinkedList<K, V> list = freqToList.computeIfAbsent(1, f -> new DoublyLinkedList<>());
-        list.addFirst(newNode);
-        keyToNode.put(key, newNode);
-        minFreq = 1;
+    @Override
+    public void remove(K key) {
+        engine.remove(key);
     }
 
-    public synchronized void remove(K key) {
-        if (!keyToNode.containsKey(key)) {
-            return;
-        }
-        Node<K, V> node = keyToNode.remove(key);
-        DoublyLinkedList<K, V> list = freqToList.get(node.freq);
-        if (list != null) {
-            list.remove(node);
-            if (list.isEmpty()) {
-                freqToList.remove(node.freq);
-                if (minFreq == node.freq) {
-                    recalculateMinFreq();
-                }
-            }
-        }
+    @Override
+    public int size() {
+        return engine.size();
     }
 
-    private void increaseFrequency(Node<K, V> node) {
-        int oldFreq = node.freq;
-        DoublyLinkedList<K, V> oldList = freqToList.get(oldFreq);
-        if (oldList != null) {
-            oldList.remove(node);
-            if (oldList.isEmpty()) {
-                freqToList.remove(oldFreq);
-                if (minFreq == oldFreq) {
-                    minFreq = oldFreq + 1;
-                }
-            }
+    /**
+     * Current cache age (always 0 unless dynamic aging is enabled).
+     */
+    public int getCacheAge() {
+        synchronized (engine) {
+            return policy.getCacheAge();
         }
-
-        int newFreq = oldFreq + 1;
-        node.freq = newFreq;
-        DoublyLinkedList<K, V> newList = freqToList.computeIfAbsent(newFreq, f -> new DoublyLinkedList<>());
-        newList.addFirst(node);
     }
 
-    private void evictLeastFrequent() {
-        DoublyLinkedList<K, V> list = freqToList.get(minFreq);
-        if (list == null) {
-            return; // should not happen if invariants hold
+    /**
+     * Up to k most frequently used keys with their frequencies, hottest first.
+     * The lock is held for O(k) regardless of cache size.
+     */
+    public List<Map.Entry<K, Integer>> topK(int k) {
+        synchronized (engine) {
+            return policy.topK(k);
         }
-        Node<K, V> nodeToRemove = list.removeLast();
-        if (nodeToRemove != null) {
-            keyToNode.remove(nodeToRemove.key);
+    }
+
+    /**
+     * Log2-bucketed frequency distribution: element i is the number of entries
+     * whose frequency lies in [2^i, 2^(i+1)). The counts are maintained on every
+     * frequency change, so this is O(1) and cheap enough to poll every second.
+     * With dynamic aging the values are priorities rather than raw access counts.
+     */
+    public int[] frequencyHistogram() {
+        synchronized (engine) {
+            return policy.frequencyHistogram();
         }
-        if (list.isEmpty()) {
-            freqToList.remove(minFreq);
-            recalculateMinFreq();
+    }
+
+    LFUEvictionPolicy.Snapshot<K, V> snapshot() {
+        synchronized (engine) {
+            return policy.snapshot();
         }
     }
 
-    private void recalculateMinFreq() {
-        int newMin = Integer.MAX_VALUE;
-        for (Integer freq : freqToList.keySet()) {
-            if (freq < newMin) {
-                newMin = freq;
-            }
+    /**
+     * Appends an entry straight into its frequency bucket. Feeding entries in
+     * checkpoint order makes every call O(1). Keys already present are kept.
+     */
+    void restoreEntry(K key, V value, int freq) {
+        engine.restore(key, value, Math.max(freq, 1));
+    }
+
+    void restoreCacheAge(int age) {
+        synchronized (engine) {
+            policy.restoreCacheAge(age);
         }
-        minFreq = freqToList.isEmpty() ? 0 : newMin;
     }
 }
-
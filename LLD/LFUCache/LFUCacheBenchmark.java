@@ -0,0 +1,97 @@
+package LLD.LFUCache;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+import LLD.Cache.Cache;
+
+/**
+ * Compares LFUCache and ConcurrentLFUCache on a Zipf-distributed workload:
+ * - hit ratio on a single thread (approximation cost)
+ * - read-heavy throughput with 1..N threads (scalability)
+ */
+public class LFUCacheBenchmark {
+    private static final int KEY_SPACE = 100_000;
+    private static final int CAPACITY = 10_000;
+    private static final int OPS_PER_THREAD = 2_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] workload = zipfKeys(OPS_PER_THREAD, KEY_SPACE, 0.99, 42);
+
+        System.out.printf("Hit ratio  LFUCache=%.3f  ConcurrentLFUCache=%.3f%n",
+                hitRatio(new LFUCache<>(CAPACITY), workload), hitRatio(new ConcurrentLFUCache<>(CAPACITY), workload));
+
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            System.out.printf("%2d threads LFUCache=%6.1f Mops/s  ConcurrentLFUCache=%6.1f Mops/s%n",
+                    threads,
+                    throughput(new LFUCache<>(CAPACITY), workload, threads),
+                    throughput(new ConcurrentLFUCache<>(CAPACITY), workload, threads));
+        }
+    }
+
+    private static double hitRatio(Cache<Integer, Integer> cache, int[] workload) {
+        long hits = 0;
+        for (int key : workload) {
+            if (cache.get(key) != null) {
+                hits++;
+            } else {
+                cache.put(key, key);
+            }
+        }
+        return (double) hits / workload.length;
+    }
+
+    private static double throughput(Cache<Integer, Integer> cache, int[] workload, int threads) throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            cache.put(workload[i], workload[i]);
+        }
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 7919;
+            Thread worker = new Thread(() -> {
+                // counted down however the worker ends, so a failing cache cannot hang the run
+                try {
+                    start.await();
+                    for (int i = 0; i < workload.length; i++) {
+                        int key = workload[(i + offset) % workload.length];
+                        if (cache.get(key) == null) {
+                            cache.put(key, key);
+                        }
+                    }
+                    ops.add(workload.length);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        return ops.sum() * 1_000.0 / elapsed;
+    }
+
+    private static int[] zipfKeys(int count, int keySpace, double skew, long seed) {
+        double[] cdf = new double[keySpace];
+        double sum = 0;
+        for (int i = 0; i < keySpace; i++) {
+            sum += 1.0 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        Random random = new Random(seed);
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            int idx = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            keys[i] = idx >= 0 ? idx : -idx - 1;
+        }
+        return keys;
+    }
+}
@@ -20,6 +20,32 @@ public class LFUCacheDemo {
         System.out.println("Get key 1 (should be 'One'): " + lfuCache.get(1));
         System.out.println("Get key 2 (should be 'Two'): " + lfuCache.get(2));
         System.out.println("Get key 4 (should be 'Four'): " + lfuCache.get(4));
+        System.out.println("Top 2 keys (should be 1 then 2): " + lfuCache.topK(2));
+        System.out.println("Frequency histogram: " + java.util.Arrays.toString(lfuCache.frequencyHistogram()));
+
+        // Dynamic aging: key 1 is hot early on, then traffic moves to other keys
+        LFUCache<Integer, String> agingCache = new LFUCache<>(2, 3);
+        agingCache.put(1, "One");
+        for (int i = 0; i < 100; i++) {
+            agingCache.get(1); // priority capped at cacheAge + 3
+        }
+        for (int key = 10; key < 20; key++) {
+            agingCache.put(key, "V" + key);
+            agingCache.get(key);
+            agingCache.get(key);
+        }
+        System.out.println("Get stale hot key 1 (should be null): " + agingCache.get(1));
+        System.out.println("Cache age after churn: " + agingCache.getCacheAge());
+
+        // GDSF: a large, cheap object loses to small, hot ones under a weight budget
+        GDSFCache<String, String> gdsfCache = new GDSFCache<>(100);
+        gdsfCache.put("report", "big pdf", 80, 1.0);
+        gdsfCache.put("avatar", "small png", 10, 1.0);
+        gdsfCache.get("avatar");
+        gdsfCache.put("profile", "json", 15, 5.0); // needs room: evicts "report"
+        System.out.println("Get key report (should be null): " + gdsfCache.get("report"));
+        System.out.println("Get key avatar (should be 'small png'): " + gdsfCache.get("avatar"));
+        System.out.println("GDSF total weight (should be 25): " + gdsfCache.getTotalWeight());
     }
 }
 
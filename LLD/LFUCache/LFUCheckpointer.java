@@ -0,0 +1,170 @@
+package LLD.LFUCache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Persists the learned popularity of an LFUCache so a restart does not reset
+ * every key to freq = 1.
+ *
+ * File layout (big-endian, written sequentially):
+ * - header: MAGIC, VERSION, flags (bit 0 = values present), cacheAge
+ * - records: RECORD marker, freq, key [, value]
+ * - trailer: END marker
+ *
+ * Records are in ascending frequency and LRU -> MRU order within a frequency,
+ * which is exactly the order in which restore() can append them to the bucket
+ * chain in O(1) each, without replaying promotions.
+ *
+ * Checkpoints are written to a temporary file on a background thread, forced to
+ * disk, atomically renamed and the rename forced through the directory, so a
+ * crash mid-write leaves the previous checkpoint intact.
+ */
+public class LFUCheckpointer<K, V> implements AutoCloseable {
+    private static final int MAGIC = 0x4C465543; // "LFUC"
+    private static final byte VERSION = 1;
+    private static final byte FLAG_VALUES = 1;
+    private static final byte RECORD = 1;
+    private static final byte END = 0;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final LFUCache<K, V> cache;
+    private final Path file;
+    private final EntryCodec<K> keyCodec;
+    private final EntryCodec<V> valueCodec;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param valueCodec codec for values, or null to persist keys and frequencies only
+     */
+    public LFUCheckpointer(LFUCache<K, V> cache, Path file, EntryCodec<K> keyCodec, EntryCodec<V> valueCodec) {
+        this.cache = cache;
+        this.file = file;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "lfu-checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts writing a checkpoint every interval on the background thread.
+     */
+    public void start(long interval, TimeUnit unit) {
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                checkpoint();
+            } catch (IOException e) {
+                System.err.println("LFU checkpoint failed: " + e.getMessage());
+            }
+        }, interval, interval, unit);
+    }
+
+    /**
+     * Writes a checkpoint now on the calling thread and returns the entry count.
+     */
+    @SuppressWarnings("unchecked")
+    public int checkpoint() throws IOException {
+        LFUEvictionPolicy.Snapshot<K, V> snapshot = cache.snapshot();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(valueCodec != null ? FLAG_VALUES : 0);
+            out.writeInt(snapshot.cacheAge);
+            for (int i = 0; i < snapshot.freqs.length; i++) {
+                out.writeByte(RECORD);
+                out.writeInt(snapshot.freqs[i]);
+                keyCodec.write(out, (K) snapshot.keys[i]);
+                if (valueCodec != null) {
+                    valueCodec.write(out, (V) snapshot.values[i]);
+                }
+            }
+            out.writeByte(END);
+            out.flush();
+            // the data must be durable before the rename can expose it
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(file.toAbsolutePath().getParent());
+        return snapshot.freqs.length;
+    }
+
+    /**
+     * Makes a rename in dir durable. Some platforms (Windows) cannot open a
+     * directory for fsync; there the rename is as durable as the OS makes it.
+     */
+    private static void forceDirectory(Path dir) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(dir, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Streams a checkpoint back into the cache and returns the number of entries read.
+     * If the file holds more entries than the cache can keep, the least frequent
+     * ones are evicted as the hotter ones arrive.
+     *
+     * @param loader used to produce values when the checkpoint holds keys only;
+     *               keys it maps to null are skipped
+     */
+    public static <K, V> int restore(LFUCache<K, V> cache, Path file, EntryCodec<K> keyCodec,
+                                     EntryCodec<V> valueCodec, Function<K, V> loader) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("Not an LFU checkpoint: " + file);
+            }
+            boolean hasValues = (in.readByte() & FLAG_VALUES) != 0;
+            int cacheAge = in.readInt();
+            if (hasValues && valueCodec == null) {
+                throw new IllegalArgumentException("Checkpoint contains values; a value codec is required");
+            }
+            if (!hasValues && loader == null) {
+                throw new IllegalArgumentException("Checkpoint contains keys only; a loader is required");
+            }
+
+            int restored = 0;
+            while (in.readByte() == RECORD) {
+                int freq = in.readInt();
+                K key = keyCodec.read(in);
+                V value = hasValues ? valueCodec.read(in) : loader.apply(key);
+                if (value != null) {
+                    cache.restoreEntry(key, value, freq);
+                }
+                restored++;
+            }
+            cache.restoreCacheAge(cacheAge);
+            return restored;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+    }
+}
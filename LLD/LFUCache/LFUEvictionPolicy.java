@@ -0,0 +1,265 @@
+package LLD.LFUCache;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import LLD.Cache.EvictionPolicy;
+import LLD.Cache.Node;
+
+/**
+ * LFU ordering for CacheEngine.
+ * Uses:
+ * - freqToList map: frequency -> bucket of nodes with that frequency
+ * - bucket chain: the non-empty buckets are also linked to each other in ascending
+ *   frequency order (lowestBucket .. highestBucket), so the least and most
+ *   frequent entries are reachable in O(1)
+ *
+ * Eviction strategy:
+ * - Evict least frequently used node.
+ * - On ties (same frequency), evict the least recently used within that frequency,
+ *   maintained by the list order (MRU at head, LRU at tail).
+ *
+ * Dynamic aging (LFU-DA):
+ * - Optional mode where node.freq holds a priority instead of a raw count.
+ * - cacheAge is raised to the priority of every evicted node, and new nodes start
+ *   at cacheAge + 1, so they compete with the current population instead of with
+ *   counts accumulated long ago.
+ * - maxAgeLead caps how far a node's priority may run ahead of cacheAge. A key that
+ *   stops being accessed is overtaken after at most maxAgeLead units of aging,
+ *   which bounds how long stale popularity can pin an entry.
+ */
+public final class LFUEvictionPolicy<K, V> implements EvictionPolicy<K, V> {
+    private static final int HISTOGRAM_SLOTS = 32;
+
+    private final Map<Integer, FrequencyBucket<K, V>> freqToList;
+    private final boolean dynamicAging;
+    private final int maxAgeLead;
+    private final int[] histogram; // slot i counts nodes with freq in [2^i, 2^(i+1))
+    private FrequencyBucket<K, V> lowestBucket;
+    private FrequencyBucket<K, V> highestBucket;
+    private int size;
+    private int cacheAge;
+
+    public LFUEvictionPolicy() {
+        this(false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an LFU-DA policy. A smaller maxAgeLead reclaims formerly hot keys
+     * sooner; Integer.MAX_VALUE gives textbook LFU-DA with no cap.
+     */
+    public LFUEvictionPolicy(int maxAgeLead) {
+        this(true, maxAgeLead);
+    }
+
+    private LFUEvictionPolicy(boolean dynamicAging, int maxAgeLead) {
+        if (maxAgeLead < 1) {
+            throw new IllegalArgumentException("maxAgeLead must be positive");
+        }
+        this.freqToList = new HashMap<>();
+        this.dynamicAging = dynamicAging;
+        this.maxAgeLead = maxAgeLead;
+        this.histogram = new int[HISTOGRAM_SLOTS];
+        this.cacheAge = 0;
+    }
+
+    @Override
+    public void onInsert(Node<K, V> node) {
+        FrequencyBucket<K, V> start = null;
+        if (node.getFreq() <= 0) {
+            node.setFreq(cacheAge + 1);
+        } else if (highestBucket != null && highestBucket.freq <= node.getFreq()) {
+            // restored nodes arrive in ascending frequency: append above the top
+            start = highestBucket.lowerBucket;
+        }
+        bucketAtOrAfter(start, node.getFreq()).addFirst(node);
+        histogram[slotOf(node.getFreq())]++;
+        size++;
+    }
+
+    @Override
+    public void onAccess(Node<K, V> node) {
+        int oldFreq = node.getFreq();
+        int newFreq = nextFrequency(oldFreq);
+        FrequencyBucket<K, V> oldList = freqToList.get(oldFreq);
+        if (newFreq == oldFreq) {
+            // priority is capped at cacheAge + maxAgeLead; only refresh recency
+            oldList.moveToFront(node);
+            return;
+        }
+
+        FrequencyBucket<K, V> newList = bucketAtOrAfter(oldList, newFreq);
+        oldList.remove(node);
+        if (oldList.isEmpty()) {
+            unlinkBucket(oldList);
+        }
+        histogram[slotOf(oldFreq)]--;
+        histogram[slotOf(newFreq)]++;
+        node.setFreq(newFreq);
+        newList.addFirst(node);
+    }
+
+    @Override
+    public void onRemove(Node<K, V> node) {
+        FrequencyBucket<K, V> list = freqToList.get(node.getFreq());
+        if (list != null) {
+            list.remove(node);
+            histogram[slotOf(node.getFreq())]--;
+            size--;
+            if (list.isEmpty()) {
+                unlinkBucket(list);
+            }
+        }
+    }
+
+    @Override
+    public Node<K, V> selectVictim() {
+        if (lowestBucket == null) {
+            return null;
+        }
+        Node<K, V> victim = lowestBucket.last();
+        if (dynamicAging) {
+            cacheAge = victim.getFreq();
+        }
+        return victim;
+    }
+
+    /**
+     * Current cache age (always 0 unless dynamic aging is enabled).
+     */
+    public int getCacheAge() {
+        return cacheAge;
+    }
+
+    void restoreCacheAge(int age) {
+        if (dynamicAging) {
+            cacheAge = Math.max(cacheAge, age);
+        }
+    }
+
+    /**
+     * Up to k most frequently used keys with their frequencies, hottest first;
+     * ties are listed most recently used first. Walks the bucket chain down from
+     * the highest frequency, so this is O(k) regardless of cache size.
+     */
+    public List<Map.Entry<K, Integer>> topK(int k) {
+        List<Map.Entry<K, Integer>> result = new ArrayList<>(Math.min(Math.max(k, 0), size));
+        for (FrequencyBucket<K, V> bucket = highestBucket;
+             bucket != null && result.size() < k;
+             bucket = bucket.lowerBucket) {
+            for (Node<K, V> node = bucket.first(); node != null && result.size() < k; node = bucket.next(node)) {
+                result.add(new AbstractMap.SimpleImmutableEntry<>(node.getKey(), node.getFreq()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Log2-bucketed frequency distribution: element i is the number of entries
+     * whose frequency lies in [2^i, 2^(i+1)). Trailing empty slots are trimmed.
+     */
+    public int[] frequencyHistogram() {
+        int length = HISTOGRAM_SLOTS;
+        while (length > 0 && histogram[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.copyOf(histogram, length);
+    }
+
+    /**
+     * Copies every entry in checkpoint order: ascending frequency, and least to most
+     * recently used within a frequency. Only references are copied.
+     */
+    Snapshot<K, V> snapshot() {
+        Snapshot<K, V> snapshot = new Snapshot<>(size, cacheAge);
+        int i = 0;
+        for (FrequencyBucket<K, V> bucket = lowestBucket; bucket != null; bucket = bucket.higherBucket) {
+            for (Node<K, V> node = bucket.last(); node != null; node = bucket.previous(node)) {
+                snapshot.keys[i] = node.getKey();
+                snapshot.values[i] = node.getValue();
+                snapshot.freqs[i] = node.getFreq();
+                i++;
+            }
+        }
+        return snapshot;
+    }
+
+    private int nextFrequency(int freq) {
+        if (!dynamicAging) {
+            return freq + 1;
+        }
+        long ceiling = (long) cacheAge + maxAgeLead;
+        long next = Math.min((long) freq + 1, Math.min(ceiling, Integer.MAX_VALUE));
+        return (int) Math.max(next, freq);
+    }
+
+    /**
+     * Returns the bucket for freq, creating and linking it if needed. The search
+     * starts after the given bucket (or at the lowest one when null); new keys land
+     * at or next to the lowest bucket and promotions land next to their old
+     * bucket, so this is O(1) in practice.
+     */
+    private FrequencyBucket<K, V> bucketAtOrAfter(FrequencyBucket<K, V> start, int freq) {
+        FrequencyBucket<K, V> lower = start;
+        FrequencyBucket<K, V> candidate = start == null ? lowestBucket : start.higherBucket;
+        while (candidate != null && candidate.freq < freq) {
+            lower = candidate;
+            candidate = candidate.higherBucket;
+        }
+        if (candidate != null && candidate.freq == freq) {
+            return candidate;
+        }
+
+        FrequencyBucket<K, V> bucket = new FrequencyBucket<>(freq);
+        bucket.lowerBucket = lower;
+        bucket.higherBucket = candidate;
+        if (lower == null) {
+            lowestBucket = bucket;
+        } else {
+            lower.higherBucket = bucket;
+        }
+        if (candidate == null) {
+            highestBucket = bucket;
+        } else {
+            candidate.lowerBucket = bucket;
+        }
+        freqToList.put(freq, bucket);
+        return bucket;
+    }
+
+    private void unlinkBucket(FrequencyBucket<K, V> bucket) {
+        if (bucket.lowerBucket == null) {
+            lowestBucket = bucket.higherBucket;
+        } else {
+            bucket.lowerBucket.higherBucket = bucket.higherBucket;
+        }
+        if (bucket.higherBucket == null) {
+            highestBucket = bucket.lowerBucket;
+        } else {
+            bucket.higherBucket.lowerBucket = bucket.lowerBucket;
+        }
+        freqToList.remove(bucket.freq);
+    }
+
+    private static int slotOf(int freq) {
+        return 31 - Integer.numberOfLeadingZeros(Math.max(freq, 1));
+    }
+
+    static final class Snapshot<K, V> {
+        final Object[] keys;
+        final Object[] values;
+        final int[] freqs;
+        final int cacheAge;
+
+        Snapshot(int size, int cacheAge) {
+            this.keys = new Object[size];
+            this.values = new Object[size];
+            this.freqs = new int[size];
+            this.cacheAge = cacheAge;
+        }
+    }
+}
@@ -1,65 +1,39 @@
 package LLD.LRUCache;
 
-import java.util.HashMap;
-import java.util.Map;
+import LLD.Cache.Cache;
+import LLD.Cache.CacheEngine;
 
-public class LRUCache<K,V> {
-    private final int capacity;
-    private final Map<K,Node<K,V>> map;
-    private final DoublyLinkedList<K,V> dll;
+/**
+ * Thread-safe LRU cache: a CacheEngine driven by LRUEvictionPolicy.
+ */
+public class LRUCache<K,V> implements Cache<K,V> {
+    private final CacheEngine<K,V> engine;
 
     public LRUCache(int capacity) {
-        this.capacity=capacity;
-        this.map=new HashMap<>();
-        this.dll=new DoublyLinkedList<>();
+        this.engine=new CacheEngine<>(capacity,new LRUEvictionPolicy<>());
     }
-    public synchronized V get(K key)
+
+    @Override
+    public V get(K key)
     {
-        if(!map.containsKey(key))
-        {
-            return null;
-        }
-        Node<K,V> node=map.get(key);
-        dll.moveToFront(node);
-        return node.value;
+        return engine.get(key);
     }
 
-    public synchronized void put(K key, V value)
+    @Override
+    public void put(K key, V value)
     {
-        if(map.containsKey(key))
-        {
-            Node<K,V> node=map.get(key);
-            node.value=value;
-            dll.moveToFront(node);
-        }
-        else
-        {
-            if(map.size()==capacity)
-            {
-                Node<K,V> lru=dll.removeLast();
-                if(lru!=null)
-                {
-                    map.remove(key);
-                }
-            }
-            Node<K,V> newNode=new Node<>(key,value);
-            dll.addFirst(newNode);
-            map.put(key,newNode);
-        }
+        engine.put(key,value);
     }
 
-    public synchronized void remove(K key)
+    @Override
+    public void remove(K key)
     {
-        if(!map.containsKey(key))
-        {
-            return;
-        }
-        Node<K,V> node=map.get(key);
-        dll.remove(node);
-        map.remove(key);
+        engine.remove(key);
     }
 
-
-    
-    
+    @Override
+    public int size()
+    {
+        return engine.size();
+    }
 }
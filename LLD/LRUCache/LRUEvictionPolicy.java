@@ -0,0 +1,32 @@
+package LLD.LRUCache;
+
+import LLD.Cache.DoublyLinkedList;
+import LLD.Cache.EvictionPolicy;
+import LLD.Cache.Node;
+
+/**
+ * Recency ordering: MRU at the head of the list, victims taken from the tail.
+ */
+public final class LRUEvictionPolicy<K, V> implements EvictionPolicy<K, V> {
+    private final DoublyLinkedList<K, V> dll = new DoublyLinkedList<>();
+
+    @Override
+    public void onInsert(Node<K, V> node) {
+        dll.addFirst(node);
+    }
+
+    @Override
+    public void onAccess(Node<K, V> node) {
+        dll.moveToFront(node);
+    }
+
+    @Override
+    public void onRemove(Node<K, V> node) {
+        dll.remove(node);
+    }
+
+    @Override
+    public Node<K, V> selectVictim() {
+        return dll.last();
+    }
+}
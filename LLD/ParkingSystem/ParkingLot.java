@@ -1,44 +1,301 @@
 package LLD.ParkingSystem;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
 import LLD.ParkingSystem.entities.ParkingFloor;
 import LLD.ParkingSystem.entities.ParkingTicket;
+import LLD.ParkingSystem.entities.TicketIdGenerator;
+import LLD.ParkingSystem.events.OccupancyPublisher;
+import LLD.ParkingSystem.events.ParkingEventSink;
+import LLD.ParkingSystem.events.ParkingEventType;
+import LLD.ParkingSystem.events.PrintStreamEventSink;
+import LLD.ParkingSystem.index.AvailabilitySnapshot;
+import LLD.ParkingSystem.index.LotAvailabilityIndex;
+import LLD.ParkingSystem.index.TicketRegistry;
+import LLD.ParkingSystem.journal.TicketJournal;
+import LLD.ParkingSystem.journal.TicketRecord;
+import LLD.ParkingSystem.reservation.ReservationBook;
+import LLD.ParkingSystem.settlement.ClosedTicketLog;
 import LLD.ParkingSystem.strategy.fee.FeeStrategy;
 import LLD.ParkingSystem.strategy.fee.FlatRateFeeStrategy;
 import LLD.ParkingSystem.strategy.parking.BestFitStrategy;
 import LLD.ParkingSystem.strategy.parking.ParkingSpot;
+import LLD.ParkingSystem.waitlist.Waitlist;
 
 public class ParkingLot {
     private static ParkingLot instance;
-    private final Map<String,ParkingTicket> activeTickets;
+    private final TicketRegistry activeTickets=new TicketRegistry();
+    public static final int DEFAULT_GATES=16;
+    // one generator per gate number the lot owns; each thread issuing tickets sticks
+    // to one of them, so concurrent gates do not contend on one CAS. Ids from
+    // different generators never collide; the gate bits also identify the issuing
+    // lot within a ParkingNetwork
+    private final TicketIdGenerator[] ticketIds;
+    private final ThreadLocal<TicketIdGenerator> gateTicketIds;
     private final List<ParkingFloor> parkingFloors=new ArrayList<>();
+    private final LotAvailabilityIndex availabilityIndex=new LotAvailabilityIndex();
+    // vehicles queued by parkOrWait; exits hand their spot to these first
+    private final Waitlist waitlist=new Waitlist();
     private FeeStrategy feeStrategy;
     private ParkingSpot parkingStrategy;
+    // null until enableJournal: state is in memory only
+    private volatile TicketJournal journal;
+    // null unless closed tickets are kept for end-of-day settlement
+    private volatile ClosedTicketLog closedTicketLog;
+    // entry/exit timestamps; a simulation swaps in a virtual clock
+    private volatile Clock clock=Clock.systemUTC();
+    // where park/unpark events go; NO_OP for headless runs, AsyncEventSink under load
+    private volatile ParkingEventSink eventSink=new PrintStreamEventSink(System.out);
+    // null until enableReservations
+    private volatile ReservationBook reservations;
+    // created by the first occupancyUpdates() call; guarded by this
+    private OccupancyPublisher occupancyPublisher;
 
-    private ParkingLot()
+    private ParkingLot(int firstGate, int gateCount)
     {
+        if(gateCount<1)
+        {
+            throw new IllegalArgumentException("gateCount must be positive: "+gateCount);
+        }
+        this.ticketIds=new TicketIdGenerator[gateCount];
+        for(int i=0;i<gateCount;i++)
+        {
+            ticketIds[i]=new TicketIdGenerator(firstGate+i);
+        }
+        AtomicInteger nextGate=new AtomicInteger();
+        this.gateTicketIds=ThreadLocal.withInitial(()->ticketIds[Math.floorMod(nextGate.getAndIncrement(), gateCount)]);
         this.feeStrategy=new FlatRateFeeStrategy();
         this.parkingStrategy=new BestFitStrategy();
-        this.activeTickets = new ConcurrentHashMap<>();
-
     }
+    /**
+     * The shared lot of a single-site deployment. Multi-site deployments get their
+     * lots from network.ParkingNetwork instead.
+     */
     public static synchronized ParkingLot getInstance()
     {
         if(instance==null)
         {
-            instance=new ParkingLot();
+            instance=new ParkingLot(0, DEFAULT_GATES);
         }
         return instance;
     }
-    public void addParkingFloor(ParkingFloor floor)
+    /**
+     * A lot independent of the shared instance (e.g. one per simulation run).
+     */
+    public static ParkingLot newInstance()
+    {
+        return new ParkingLot(0, DEFAULT_GATES);
+    }
+    /**
+     * An independent lot issuing ticket ids with gate numbers firstGate ..
+     * firstGate + gateCount - 1 (at most TicketIdGenerator.MAX_GATE). Lots with
+     * disjoint gate ranges never issue the same id, and TicketIdGenerator.gateOf
+     * tells which lot issued a ticket. Up to gateCount threads issue tickets without
+     * sharing a generator.
+     */
+    public static ParkingLot newInstance(int firstGate, int gateCount)
+    {
+        return new ParkingLot(firstGate, gateCount);
+    }
+    public void setClock(Clock clock)
+    {
+        this.clock=clock;
+    }
+    public void setEventSink(ParkingEventSink eventSink)
+    {
+        this.eventSink=eventSink;
+    }
+    public synchronized void addParkingFloor(ParkingFloor floor)
     {
         parkingFloors.add(floor);
+        availabilityIndex.addFloor(floor);
+        if(occupancyPublisher!=null)
+        {
+            occupancyPublisher.addFloor(floor);
+        }
+    }
+    /**
+     * Stream of availability snapshots for signage, at most one per 100ms and only
+     * when something changed. Slow subscribers get coalesced snapshots rather than
+     * a backlog; see OccupancyPublisher.
+     */
+    public synchronized Flow.Publisher<AvailabilitySnapshot> occupancyUpdates()
+    {
+        if(occupancyPublisher==null)
+        {
+            occupancyPublisher=new OccupancyPublisher(Duration.ofMillis(100), 4, ForkJoinPool.commonPool());
+            for(ParkingFloor floor:parkingFloors)
+            {
+                occupancyPublisher.addFloor(floor);
+            }
+        }
+        return occupancyPublisher;
+    }
+    /**
+     * Free/occupied counts per floor and size, built from counters in O(floors x sizes).
+     */
+    public AvailabilitySnapshot availability()
+    {
+        return AvailabilitySnapshot.of(parkingFloors);
+    }
+    /**
+     * Free spots across the lot, read from lot-wide counters without visiting floors or spots.
+     */
+    public long totalAvailable()
+    {
+        return availabilityIndex.totalAvailable();
+    }
+    public long totalAvailable(VehicleSize size)
+    {
+        return availabilityIndex.totalAvailable(size);
+    }
+    /**
+     * Makes open tickets durable in journalDir and restores the ones recorded there:
+     * each is re-parked on its original spot with its original id and entry time.
+     * Floors must be added first. A snapshot is taken every snapshotPeriodSeconds.
+     */
+    public synchronized void enableJournal(Path journalDir, long snapshotPeriodSeconds) throws IOException
+    {
+        if(journal!=null)
+        {
+            throw new IllegalStateException("Journal already enabled");
+        }
+        Map<Integer,ParkingFloor> floorsByNumber=new HashMap<>();
+        for(ParkingFloor floor:parkingFloors)
+        {
+            floorsByNumber.put(floor.getFloorNumber(), floor);
+        }
+        for(TicketRecord record:TicketJournal.recover(journalDir))
+        {
+            restoreTicket(record, floorsByNumber.get(record.getFloorNumber()));
+        }
+        journal=new TicketJournal(journalDir);
+        journal.snapshotEvery(snapshotPeriodSeconds, TimeUnit.SECONDS, activeTickets::tickets,
+                error->eventSink.onEvent(ParkingEventType.SNAPSHOT_FAILED, clock.millis(), null, null, 0, Double.NaN));
+    }
+    /**
+     * Writes a final snapshot and closes the journal.
+     */
+    public synchronized void closeJournal() throws IOException
+    {
+        if(journal!=null)
+        {
+            journal.snapshot(activeTickets.tickets());
+            journal.close();
+            journal=null;
+        }
+    }
+    private void restoreTicket(TicketRecord record, ParkingFloor floor)
+    {
+        var vehicle=record.toVehicle();
+        var spot=floor==null ? Optional.<LLD.ParkingSystem.entities.ParkingSpot>empty() : floor.getSpot(record.getSpotId());
+        if(spot.isEmpty() || !spot.get().tryClaim(vehicle))
+        {
+            eventSink.onEvent(ParkingEventType.RESTORE_FAILED, clock.millis(), record.getLicensePlate(), record.getSpotId(), record.getTicketId(), Double.NaN);
+            return;
+        }
+        activeTickets.register(new ParkingTicket(record.getTicketId(), vehicle, spot.get(), record.getEntryTime()));
+        for(TicketIdGenerator generator:ticketIds)
+        {
+            generator.advancePast(record.getTicketId());
+        }
+    }
+    /**
+     * Appends every closed ticket to log, for FeeSettlement to re-price at end of day.
+     */
+    public void setClosedTicketLog(ClosedTicketLog closedTicketLog)
+    {
+        this.closedTicketLog=closedTicketLog;
+    }
+    /**
+     * Forces closed tickets buffered so far to disk, e.g. before settling the live log.
+     */
+    public void flushClosedTickets() throws IOException
+    {
+        var closed=closedTicketLog;
+        if(closed!=null)
+        {
+            closed.flush();
+        }
+    }
+    /**
+     * Flushes and closes the closed-ticket log; tickets settled afterwards are not logged.
+     */
+    public synchronized void closeClosedTicketLog() throws IOException
+    {
+        var closed=closedTicketLog;
+        if(closed!=null)
+        {
+            closedTicketLog=null;
+            closed.close();
+        }
+    }
+    /**
+     * Turns on advance bookings. A booked spot is held (claimed, so strategies skip
+     * it) from holdAhead before its window until the customer parks or the window
+     * ends. Holds and expiries run on every park and unpark, and every second from a
+     * daemon timer for when the lot is idle (ReservationBook.close stops it).
+     * Calling again returns the same book.
+     */
+    public synchronized ReservationBook enableReservations(Duration holdAhead)
+    {
+        if(reservations==null)
+        {
+            var book=new ReservationBook(()->clock.millis(), holdAhead, activeTickets::isParked, this::releaseHeldSpot);
+            book.advanceEvery(1, TimeUnit.SECONDS);
+            reservations=book;
+        }
+        return reservations;
+    }
+    public ReservationBook reservations()
+    {
+        return reservations;
+    }
+    // a reserved spot nobody checked into: free it and let waiters have it
+    private void releaseHeldSpot(LLD.ParkingSystem.entities.ParkingSpot spot)
+    {
+        spot.unparkVehicle();
+        serveWaiters(spot.getSpotSize());
+    }
+    /**
+     * Holds and expires due reservations, then returns the held spot reserved for
+     * this vehicle (now parked with it), or null if it has none.
+     */
+    private LLD.ParkingSystem.entities.ParkingSpot reservedSpot(Vehicle vehicle)
+    {
+        var book=reservations;
+        if(book==null)
+        {
+            return null;
+        }
+        book.advanceTo(clock.millis());
+        return book.checkIn(vehicle);
+    }
+    private void advanceReservations()
+    {
+        var book=reservations;
+        if(book!=null)
+        {
+            book.advanceTo(clock.millis());
+        }
     }
     public void setFeeStrategy(FeeStrategy feeStrategy)
     {
@@ -50,29 +307,309 @@ public class ParkingLot {
     }
     public Optional<ParkingTicket> parkVehicle(LLD.ParkingSystem.Vehicle.Vehicle vehicle)
     {
-        var spot=parkingStrategy.findSpot(parkingFloors, vehicle);
+        if(activeTickets.isParked(vehicle.getLicensePlate()))
+        {
+            eventSink.onEvent(ParkingEventType.ALREADY_PARKED, clock.millis(), vehicle.getLicensePlate(), null, 0, Double.NaN);
+            return Optional.empty();
+        }
+        var reserved=reservedSpot(vehicle);
+        var spot=reserved!=null ? Optional.of(reserved) : parkingStrategy.findSpot(parkingFloors, availabilityIndex, vehicle);
         if(spot.isEmpty())
         {
+            eventSink.onEvent(ParkingEventType.NO_SPOT, clock.millis(), vehicle.getLicensePlate(), null, 0, Double.NaN);
+            return Optional.empty();
+        }
+        // spot already claimed by the strategy, or checked into by the reservation
+        var ticket=reserved!=null ? issueReservedTicket(vehicle, reserved) : issueTicket(vehicle, spot.get());
+        syncJournal();
+        return ticket;
+    }
+    /**
+     * Parks the vehicle now if a spot is free, otherwise queues it behind earlier
+     * waiters of the same VehicleSize. The first exit that frees a matching spot hands
+     * it straight to the head of the queue (no search, and no other gate can take
+     * it in between) and completes the future with the new ticket.
+     *
+     * The future fails with TimeoutException if no spot arrives within timeout, and
+     * with IllegalStateException if the plate is already parked. Cancelling it leaves
+     * the queue; cancel returns false once a spot has been handed over, and the
+     * future then completes with the ticket. It is completed on the exiting gate's thread, so heavy continuations
+     * should use the *Async variants.
+     */
+    public CompletableFuture<ParkingTicket> parkOrWait(Vehicle vehicle, Duration timeout)
+    {
+        if(activeTickets.isParked(vehicle.getLicensePlate()))
+        {
+            eventSink.onEvent(ParkingEventType.ALREADY_PARKED, clock.millis(), vehicle.getLicensePlate(), null, 0, Double.NaN);
+            return CompletableFuture.failedFuture(new IllegalStateException(vehicle.getLicensePlate()+" is already parked"));
+        }
+        var reserved=reservedSpot(vehicle);
+        if(reserved!=null)
+        {
+            var ticket=issueReservedTicket(vehicle, reserved);
+            syncJournal();
+            return ticket.map(CompletableFuture::completedFuture)
+                    .orElseGet(()->CompletableFuture.failedFuture(new IllegalStateException(vehicle.getLicensePlate()+" is already parked")));
+        }
+        // only search when nobody is waiting, so new arrivals cannot overtake the queue
+        if(!waitlist.hasWaiters(vehicle.getSize()))
+        {
+            var spot=parkingStrategy.findSpot(parkingFloors, availabilityIndex, vehicle);
+            if(spot.isPresent())
+            {
+                var ticket=issueTicket(vehicle, spot.get());
+                syncJournal();
+                return ticket.map(CompletableFuture::completedFuture)
+                        .orElseGet(()->CompletableFuture.failedFuture(new IllegalStateException(vehicle.getLicensePlate()+" is already parked")));
+            }
+        }
+        var waiter=waitlist.enqueue(vehicle, timeout);
+        eventSink.onEvent(ParkingEventType.WAITLISTED, clock.millis(), vehicle.getLicensePlate(), null, 0, Double.NaN);
+        waiter.getFuture().whenComplete((ticket, error)->{
+            if(error instanceof TimeoutException)
+            {
+                eventSink.onEvent(ParkingEventType.WAIT_TIMED_OUT, clock.millis(), vehicle.getLicensePlate(), null, 0, Double.NaN);
+            }
+        });
+        // a spot freed between the search and the enqueue saw an empty queue
+        serveWaiters(vehicle.getSize());
+        return waiter.getFuture();
+    }
+    /**
+     * Gives free spots of this size to waiters until one or the other runs out. Only
+     * needed when a waiter may have missed a release; exits normally hand over directly.
+     */
+    private void serveWaiters(VehicleSize size)
+    {
+        Waitlist.Waiter head;
+        while((head=waitlist.peek(size))!=null)
+        {
+            // claimed for the head's vehicle; handed to whoever is head by the time we claim
+            var spot=parkingStrategy.findSpot(parkingFloors, availabilityIndex, head.getVehicle());
+            if(spot.isEmpty())
+            {
+                return;
+            }
+            var waiter=waitlist.claimNext(size);
+            if(waiter==null || !spot.get().transfer(waiter.getVehicle()))
+            {
+                spot.get().unparkVehicle();
+                if(waiter!=null)
+                {
+                    waiter.getFuture().completeExceptionally(new IllegalStateException("Spot "+spot.get().getSpotId()+" could not be handed over"));
+                }
+                continue;
+            }
+            admit(waiter, spot.get());
+        }
+    }
+    // waiter has been claimed and its vehicle already occupies spot
+    private void admit(Waitlist.Waiter waiter, LLD.ParkingSystem.entities.ParkingSpot spot)
+    {
+        var vehicle=waiter.getVehicle();
+        var ticket=issueTicket(vehicle, spot);
+        syncJournal();
+        if(ticket.isPresent())
+        {
+            if(!waiter.getFuture().complete(ticket.get()))
+            {
+                // the caller completed the future some other way and will never see
+                // this ticket
+                withdraw(ticket.get());
+            }
+        }
+        else
+        {
+            // issueTicket gave the spot back; the next waiter may take it
+            waiter.getFuture().completeExceptionally(new IllegalStateException(vehicle.getLicensePlate()+" is already parked"));
+            serveWaiters(vehicle.getSize());
+        }
+    }
+    // undoes an admission: the stay never happened, so it is not billed, logged as
+    // closed or reported as UNPARKED; the spot goes to a due reservation or waiter
+    private void withdraw(ParkingTicket ticket)
+    {
+        if(activeTickets.removeById(ticket.getTicketId())==null)
+        {
+            return;
+        }
+        var log=journal;
+        if(log!=null)
+        {
+            log.logUnpark(ticket.getTicketId());
+            log.sync();
+        }
+        var spot=ticket.getSpot();
+        var book=reservations;
+        if(book!=null && book.spotFreed(spot))
+        {
+            return;
+        }
+        spot.unparkVehicle();
+        serveWaiters(spot.getSpotSize());
+    }
+    /**
+     * Parks a burst of vehicles (e.g. a convoy at one gate). Vehicles are grouped by
+     * VehicleSize and each group is allocated in one pass over the availability
+     * index and floors, instead of one full strategy search per vehicle.
+     *
+     * Partial success: element i of the result is the ticket for vehicles.get(i), or
+     * empty if no spot of its size was left. Within a size, earlier vehicles in the
+     * list are served first. Vehicles that got a spot are parked even if others failed.
+     */
+    public List<Optional<ParkingTicket>> parkVehicles(List<Vehicle> vehicles)
+    {
+        List<Optional<ParkingTicket>> results=new ArrayList<>(Collections.nCopies(vehicles.size(), Optional.<ParkingTicket>empty()));
+        Map<VehicleSize,List<Integer>> positionsBySize=new EnumMap<>(VehicleSize.class);
+        advanceReservations();
+        var book=reservations;
+        for(int i=0;i<vehicles.size();i++)
+        {
+            var reserved=book==null ? null : book.checkIn(vehicles.get(i));
+            if(reserved!=null)
+            {
+                results.set(i, issueReservedTicket(vehicles.get(i), reserved));
+                continue;
+            }
+            positionsBySize.computeIfAbsent(vehicles.get(i).getSize(), s->new ArrayList<>()).add(i);
+        }
+        for(List<Integer> positions:positionsBySize.values())
+        {
+            List<Vehicle> group=new ArrayList<>(positions.size());
+            for(int pos:positions)
+            {
+                group.add(vehicles.get(pos));
+            }
+            var spots=parkingStrategy.findSpots(parkingFloors, availabilityIndex, group);
+            for(int j=0;j<spots.length;j++)
+            {
+                if(spots[j]!=null)
+                {
+                    results.set(positions.get(j), issueTicket(group.get(j), spots[j]));
+                }
+                else
+                {
+                    eventSink.onEvent(ParkingEventType.NO_SPOT, clock.millis(), group.get(j).getLicensePlate(), null, 0, Double.NaN);
+                }
+            }
+        }
+        syncJournal(); // one group commit for the whole batch
+        return results;
+    }
+    /**
+     * Registers a ticket for a vehicle on a spot it has already claimed. If the plate
+     * turned out to be parked already (a racing entry won), the spot is given back.
+     */
+    private Optional<ParkingTicket> issueTicket(Vehicle vehicle, LLD.ParkingSystem.entities.ParkingSpot parkingSpot)
+    {
+        return issueTicket(vehicle, parkingSpot, false);
+    }
+    // for a spot the reservation book just checked vehicle into
+    private Optional<ParkingTicket> issueReservedTicket(Vehicle vehicle, LLD.ParkingSystem.entities.ParkingSpot parkingSpot)
+    {
+        return issueTicket(vehicle, parkingSpot, true);
+    }
+    // reserved: if the plate is already parked, the hold is restored rather than the spot freed
+    private Optional<ParkingTicket> issueTicket(Vehicle vehicle, LLD.ParkingSystem.entities.ParkingSpot parkingSpot, boolean reserved)
+    {
+        var ticket=new ParkingTicket(gateTicketIds.get().nextId(), vehicle, parkingSpot, clock.millis());
+        if(!activeTickets.register(ticket))
+        {
+            if(!reserved)
+            {
+                parkingSpot.unparkVehicle();
+            }
+            else if(!reservations.undoCheckIn(vehicle, parkingSpot))
+            {
+                releaseHeldSpot(parkingSpot);
+            }
+            eventSink.onEvent(ParkingEventType.ALREADY_PARKED, clock.millis(), vehicle.getLicensePlate(), null, 0, Double.NaN);
             return Optional.empty();
         }
-        var parkingSpot=spot.get();
-        parkingSpot.parkVehicle(vehicle);
-        var ticket=new ParkingTicket(vehicle, parkingSpot);
-        activeTickets.put(ticket.getTicketId(), ticket);
-         System.out.printf("%s parked at %s. Ticket: %s\n", vehicle.getLicensePlate(), spot.get().getSpotId(), ticket.getTicketId());
+        var log=journal;
+        if(log!=null)
+        {
+            log.logPark(ticket);
+        }
+        eventSink.onEvent(ParkingEventType.PARKED, ticket.getEntryTime(), vehicle.getLicensePlate(), parkingSpot.getSpotId(), ticket.getTicketId(), Double.NaN);
         return Optional.of(ticket);
     }
+    // waits for the group commit covering everything this gate has logged
+    private void syncJournal()
+    {
+        var log=journal;
+        if(log!=null)
+        {
+            log.sync();
+        }
+    }
+    /**
+     * Exit by license plate, via the plate index.
+     */
     public Optional<Double> unparkVehicle(String licenseNumber)
     {
-        ParkingTicket ticket=activeTickets.remove(licenseNumber);
+        return settle(activeTickets.removeByPlate(licenseNumber), licenseNumber, 0);
+    }
+    /**
+     * Exit by ticket id.
+     */
+    public Optional<Double> unparkVehicle(long ticketId)
+    {
+        return settle(activeTickets.removeById(ticketId), null, ticketId);
+    }
+    // licenseNumber/ticketId: whichever the exit was looked up by, for the not-found event
+    private Optional<Double> settle(ParkingTicket ticket, String licenseNumber, long ticketId)
+    {
+        advanceReservations();
         if(ticket==null)
         {
-              System.out.println("Ticket not found");
+            eventSink.onEvent(ParkingEventType.TICKET_NOT_FOUND, clock.millis(), licenseNumber, null, ticketId, Double.NaN);
             return Optional.empty();
         }
-        ticket.setExitTime();
-        ticket.getSpot().unparkVehicle();
+        ticket.setExitTime(clock.millis());
+        var spot=ticket.getSpot();
+        // a reservation that is due but found no spot comes before the waitlist
+        var book=reservations;
+        boolean heldForReservation=book!=null && book.spotFreed(spot);
+        var waiter=heldForReservation ? null : waitlist.claimNext(spot.getSpotSize());
+        boolean handedOver=waiter!=null && spot.transfer(waiter.getVehicle());
+        if(!handedOver && !heldForReservation)
+        {
+            spot.unparkVehicle();
+        }
+        var log=journal;
+        if(log!=null)
+        {
+            log.logUnpark(ticket.getTicketId());
+            log.sync();
+        }
+        var closed=closedTicketLog;
+        if(closed!=null)
+        {
+            try
+            {
+                closed.append(ticket);
+            }
+            catch(IOException e)
+            {
+                eventSink.onEvent(ParkingEventType.CLOSED_TICKET_NOT_LOGGED, clock.millis(), ticket.getVehicle().getLicensePlate(), ticket.getSpot().getSpotId(), ticket.getTicketId(), Double.NaN);
+            }
+        }
         Double parkingFee=feeStrategy.CalculateFee(ticket);
+        eventSink.onEvent(ParkingEventType.UNPARKED, ticket.getExitTime(), ticket.getVehicle().getLicensePlate(), ticket.getSpot().getSpotId(), ticket.getTicketId(), parkingFee);
+        if(handedOver)
+        {
+            admit(waiter, spot);
+        }
+        else if(!heldForReservation)
+        {
+            if(waiter!=null)
+            {
+                waiter.getFuture().completeExceptionally(new IllegalStateException("Spot "+spot.getSpotId()+" could not be handed over"));
+            }
+            // a waiter that enqueued after the poll above may have missed this release
+            serveWaiters(spot.getSpotSize());
+        }
         return Optional.of(parkingFee);
 
     }
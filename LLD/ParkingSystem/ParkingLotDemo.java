@@ -1,6 +1,11 @@
 package LLD.ParkingSystem;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import LLD.ParkingSystem.Vehicle.Bike;
 import LLD.ParkingSystem.Vehicle.Car;
@@ -10,6 +15,7 @@ import LLD.ParkingSystem.Vehicle.VehicleSize;
 import LLD.ParkingSystem.entities.ParkingFloor;
 import LLD.ParkingSystem.entities.ParkingSpot;
 import LLD.ParkingSystem.entities.ParkingTicket;
+import LLD.ParkingSystem.strategy.fee.TariffFeeStrategy;
 import LLD.ParkingSystem.strategy.fee.VehicleBasedFeeStrategy;
 
 public class ParkingLotDemo {
@@ -64,5 +70,31 @@ public class ParkingLotDemo {
          System.out.println("\n--- Availability after one car leaves ---");
   floor1.displayAvailibility();
         floor2.displayAvailibility();
+
+        // 6. A burst of arrivals admitted in one batch; vehicles without a spot get no ticket
+        System.out.println("\n--- Batch arrival ---");
+        List<Optional<ParkingTicket>> batch = parkingLot.parkVehicles(List.of(new Car("C-101"), new Bike("B-102"), new Car("C-103")));
+        System.out.println("Batch admitted: " + batch.stream().filter(Optional::isPresent).count() + "/" + batch.size());
+
+        // 7. Exit by license plate (no ticket id needed)
+        parkingLot.unparkVehicle("C-999").ifPresent(f -> System.out.printf("Car C-999 unparked by plate. Fee: $%.2f\n", f));
+
+        // 8. A bike waits for the only bike spot; the exiting bike hands it over directly
+        System.out.println("\n--- Waitlist ---");
+        CompletableFuture<ParkingTicket> waiting = parkingLot.parkOrWait(new Bike("B-200"), Duration.ofSeconds(5));
+        parkingLot.unparkVehicle("B-123");
+        System.out.println("B-200 got spot " + waiting.join().getSpot().getSpotId());
+
+        // 9. Tariffs bill started minutes of the stay: 40s across a minute boundary is one minute
+        System.out.println("\n--- Tariff ---");
+        TariffFeeStrategy tariff = TariffFeeStrategy.builder(ZoneOffset.UTC).baseRate(60).build(); // $1 a minute
+        long entry = Instant.parse("2026-01-05T10:00:30Z").toEpochMilli();
+        System.out.printf("10:00:30 to 10:01:10: $%.2f, 10:00:30 to 10:01:31: $%.2f\n",
+                tariff.fee(VehicleSize.MEDIUM.ordinal(), entry, entry + 40_000),
+                tariff.fee(VehicleSize.MEDIUM.ordinal(), entry, entry + 61_000));
+
+        System.out.println("\n--- Lot snapshot (free/total) ---");
+        System.out.print(parkingLot.availability());
+        System.out.println("Total free spots in lot: " + parkingLot.totalAvailable());
     }
 }
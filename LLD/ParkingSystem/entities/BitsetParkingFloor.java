@@ -0,0 +1,331 @@
+package LLD.ParkingSystem.entities;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+
+/**
+ * ParkingFloor for very large floors (hundreds of thousands of spots).
+ *
+ * Instead of one ParkingSpot object per spot, each size class stores:
+ * - occupied: OccupancyBits, a lock-free bitset, bit i set = spot i taken
+ * - vehicles: AtomicReferenceArray holding the parked vehicle per spot
+ * so a spot costs one bit plus one reference.
+ *
+ * Free spots are found through OccupancyBits' per-word summary and claimed with a
+ * CAS on the word. ParkingSpot objects are only created as lightweight views
+ * (one small object, no per-view state) when a caller needs one, e.g. for a ticket.
+ *
+ * Slots per size are reserved at construction. The (floorNumber, capacities)
+ * constructor puts them all in service, with ids derived from position:
+ * "F<floor>-<S|M|L><index>". A floor from empty() starts with none in service, and
+ * addSpot maps each spot onto the next reserved slot of its size, keeping the
+ * spot's own id; like ColumnarParkingFloor, the spot's fields are copied and the
+ * object itself is not updated afterwards.
+ */
+public class BitsetParkingFloor extends ParkingFloor {
+    private final Map<VehicleSize, SizeClass> sizeClasses;
+
+    public BitsetParkingFloor(int floorNumber, Map<VehicleSize, Integer> capacities)
+    {
+        this(floorNumber, capacities, true);
+    }
+
+    private BitsetParkingFloor(int floorNumber, Map<VehicleSize, Integer> capacities, boolean inService)
+    {
+        super(floorNumber);
+        this.sizeClasses = new EnumMap<>(VehicleSize.class);
+        for(VehicleSize size:VehicleSize.values())
+        {
+            int capacity=capacities.getOrDefault(size, 0);
+            sizeClasses.put(size, new SizeClass(size, capacity, inService));
+            if(inService)
+            {
+                spotsAdded(size, capacity, 0);
+            }
+        }
+    }
+
+    /**
+     * A floor with slots reserved for up to capacities spots per size and none in
+     * service yet; spots are added with addSpot.
+     */
+    public static BitsetParkingFloor empty(int floorNumber, Map<VehicleSize, Integer> capacities)
+    {
+        return new BitsetParkingFloor(floorNumber, capacities, false);
+    }
+
+    /**
+     * Puts the next reserved slot of the spot's size in service under the spot's id
+     * (and with its parked vehicle, if any). Rejects duplicate ids, and spots for
+     * which no reserved slot is left.
+     */
+    @Override
+    public synchronized void addSpot(ParkingSpot spot)
+    {
+        if(getSpot(spot.getSpotId()).isPresent())
+        {
+            throw new IllegalArgumentException("Spot "+spot.getSpotId()+" is already on floor "+getFloorNumber());
+        }
+        VehicleSize size=spot.getSpotSize();
+        SizeClass sizeClass=sizeClasses.get(size);
+        int index=sizeClass.inService;
+        if(sizeClass.ids==null || index==sizeClass.vehicles.length())
+        {
+            throw new IllegalStateException("Floor "+getFloorNumber()+" has no reserved "+size+" slot left for "+spot.getSpotId()
+                    +(sizeClass.ids==null ? " (slots are positional; create the floor with BitsetParkingFloor.empty)" : ""));
+        }
+        sizeClass.ids[index]=spot.getSpotId();
+        sizeClass.byId.put(spot.getSpotId(), index);
+        Vehicle parked=spot.getParkedVehicle();
+        sizeClass.vehicles.set(index, parked);
+        sizeClass.inService=index+1;
+        if(parked==null)
+        {
+            sizeClass.occupied.free(index);
+            spotsAdded(size, 1, 0);
+        }
+        else
+        {
+            // reserved slots start taken, so an occupied spot keeps its bit
+            spotsAdded(size, 0, 1);
+        }
+    }
+
+    @Override
+    public Optional<ParkingSpot> findAvailableSpot(Vehicle vehicle)
+    {
+        SizeClass sizeClass=sizeClasses.get(vehicle.getSize());
+        int index=sizeClass.firstFree();
+        return index<0 ? Optional.empty() : Optional.of(new SlotView(sizeClass, index));
+    }
+
+    @Override
+    public Optional<ParkingSpot> claimAvailableSpot(Vehicle vehicle)
+    {
+        SizeClass sizeClass=sizeClasses.get(vehicle.getSize());
+        int index=sizeClass.claimFirstFree(vehicle);
+        return index<0 ? Optional.empty() : Optional.of(new SlotView(sizeClass, index));
+    }
+
+    /**
+     * Spots here carry no coordinates; falls back to the lowest free index.
+     */
+    @Override
+    public Optional<ParkingSpot> claimNearestSpot(Vehicle vehicle, double x, double y)
+    {
+        return claimAvailableSpot(vehicle);
+    }
+
+    @Override
+    public int claimAvailableSpots(List<Vehicle> vehicles, int from, ParkingSpot[] out)
+    {
+        if(from>=vehicles.size())
+        {
+            return 0;
+        }
+        SizeClass sizeClass=sizeClasses.get(vehicles.get(from).getSize());
+        int next=from;
+        while(next<vehicles.size())
+        {
+            int index=sizeClass.claimFirstFree(vehicles.get(next));
+            if(index<0)
+            {
+                break;
+            }
+            out[next++]=new SlotView(sizeClass, index);
+        }
+        return next-from;
+    }
+
+    @Override
+    public Optional<ParkingSpot> getSpot(String spotId)
+    {
+        for(SizeClass sizeClass:sizeClasses.values())
+        {
+            Integer index=sizeClass.byId.get(spotId);
+            if(index!=null)
+            {
+                return Optional.of(new SlotView(sizeClass, index));
+            }
+        }
+        String prefix="F"+getFloorNumber()+"-";
+        if(!spotId.startsWith(prefix) || spotId.length()<prefix.length()+2)
+        {
+            return Optional.empty();
+        }
+        for(SizeClass sizeClass:sizeClasses.values())
+        {
+            if(sizeClass.ids==null && sizeClass.size.name().charAt(0)==spotId.charAt(prefix.length()))
+            {
+                try
+                {
+                    int index=Integer.parseInt(spotId.substring(prefix.length()+1));
+                    return index>=0 && index<sizeClass.vehicles.length() ? Optional.of(new SlotView(sizeClass, index)) : Optional.empty();
+                }
+                catch(NumberFormatException e)
+                {
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Iterable<ParkingSpot> getSpots(VehicleSize size)
+    {
+        SizeClass sizeClass=sizeClasses.get(size);
+        return ()->IntStream.range(0, sizeClass.inService).<ParkingSpot>mapToObj(i->new SlotView(sizeClass, i)).iterator();
+    }
+
+    /**
+     * View of one spot, materialized on demand. Occupancy lives in the bitset, so
+     * any number of views of the same spot stay consistent. The view holds no state
+     * of its own (no AtomicReference) and a positional id is only built if asked for.
+     */
+    private final class SlotView extends ParkingSpot {
+        private final SizeClass sizeClass;
+        private final int index;
+
+        SlotView(SizeClass sizeClass, int index)
+        {
+            super(null, sizeClass.size, 0, 0, null);
+            this.sizeClass = sizeClass;
+            this.index = index;
+        }
+
+        @Override
+        public String getSpotId()
+        {
+            return sizeClass.ids!=null ? sizeClass.ids[index] : spotIdOf(sizeClass.size, index);
+        }
+
+        @Override
+        public ParkingFloor getFloor()
+        {
+            return BitsetParkingFloor.this;
+        }
+
+        @Override
+        public boolean isOccupied()
+        {
+            return sizeClass.isOccupied(index);
+        }
+
+        @Override
+        public Vehicle getParkedVehicle()
+        {
+            return sizeClass.vehicles.get(index);
+        }
+
+        @Override
+        public boolean tryClaim(Vehicle vehicle)
+        {
+            return vehicle.getSize()==sizeClass.size && sizeClass.claim(index, vehicle);
+        }
+
+        @Override
+        public boolean transfer(Vehicle vehicle)
+        {
+            if(vehicle.getSize()!=sizeClass.size || !sizeClass.isOccupied(index))
+            {
+                return false;
+            }
+            sizeClass.vehicles.set(index, vehicle);
+            return true;
+        }
+
+        @Override
+        public boolean release()
+        {
+            return sizeClass.release(index);
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof SlotView
+                    && ((SlotView) other).sizeClass==sizeClass
+                    && ((SlotView) other).index==index;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31*sizeClass.size.hashCode()+index;
+        }
+    }
+
+    private String spotIdOf(VehicleSize size, int index)
+    {
+        return "F"+getFloorNumber()+"-"+size.name().charAt(0)+index;
+    }
+
+    private final class SizeClass {
+        final VehicleSize size;
+        final OccupancyBits occupied;
+        final AtomicReferenceArray<Vehicle> vehicles;
+        // ids of spots from addSpot by slot, and the reverse; null/empty when positional
+        final String[] ids;
+        final Map<String, Integer> byId = new ConcurrentHashMap<>();
+        // slots [0, inService) are spots; the rest are reserved and held taken
+        volatile int inService;
+
+        SizeClass(VehicleSize size, int capacity, boolean inService)
+        {
+            this.size = size;
+            this.occupied = inService ? new OccupancyBits(capacity) : OccupancyBits.allTaken(capacity);
+            this.vehicles = new AtomicReferenceArray<>(capacity);
+            this.ids = inService ? null : new String[capacity];
+            this.inService = inService ? capacity : 0;
+        }
+
+        boolean isOccupied(int index)
+        {
+            return occupied.isTaken(index);
+        }
+
+        int firstFree()
+        {
+            return occupied.firstFree();
+        }
+
+        int claimFirstFree(Vehicle vehicle)
+        {
+            int index = occupied.takeFirstFree();
+            if (index >= 0) {
+                vehicles.set(index, vehicle);
+                spotClaimed(size);
+            }
+            return index;
+        }
+
+        boolean claim(int index, Vehicle vehicle)
+        {
+            if (!occupied.take(index)) {
+                return false;
+            }
+            vehicles.set(index, vehicle);
+            spotClaimed(size);
+            return true;
+        }
+
+        boolean release(int index)
+        {
+            vehicles.set(index, null);
+            if (!occupied.free(index)) {
+                return false;
+            }
+            spotReleased(size);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package LLD.ParkingSystem.entities;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+
+/**
+ * ParkingFloor that stores spots column-wise (struct of arrays) instead of one
+ * ParkingSpot object per spot. Each spot gets a dense number in the order it was
+ * added, and its fields live in parallel arrays:
+ * - ids: String[], sizes: byte[] (VehicleSize ordinal), xs/ys: double[]
+ * - vehicles: AtomicReferenceArray of the parked vehicle
+ * - per VehicleSize, an OccupancyBits over all spot numbers in which only free
+ *   spots of that size are clear
+ * - idTable: open-addressing int[] from id hash to spot number, for getSpot
+ * so finding, claiming and counting spots walk contiguous words and arrays, with
+ * no pointer chasing. Unlike BitsetParkingFloor, spots keep their own ids and
+ * coordinates and sizes can be mixed in any order.
+ *
+ * addSpot copies the spot's fields; afterwards the floor hands out flyweight
+ * ParkingSpot views (getSpot, claims), which stay consistent with each other
+ * because state lives in the arrays. The original object is not updated.
+ * Capacity is fixed at construction and spots cannot be replaced.
+ */
+public class ColumnarParkingFloor extends ParkingFloor {
+    private static final VehicleSize[] SIZES = VehicleSize.values();
+
+    private final String[] ids;
+    private final byte[] sizes;
+    private final double[] xs;
+    private final double[] ys;
+    private final AtomicReferenceArray<Vehicle> vehicles;
+    private final OccupancyBits[] taken;
+    // spot number + 1 per slot, 0 = empty; linear probing, written only by addSpot
+    private final int[] idTable;
+    private volatile int count;
+
+    public ColumnarParkingFloor(int floorNumber, int capacity)
+    {
+        super(floorNumber);
+        this.ids = new String[capacity];
+        this.sizes = new byte[capacity];
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.vehicles = new AtomicReferenceArray<>(capacity);
+        this.idTable = new int[Integer.highestOneBit(Math.max(capacity, 1)*2-1)<<1];
+        this.taken = new OccupancyBits[SIZES.length];
+        for(int i=0;i<SIZES.length;i++)
+        {
+            taken[i]=OccupancyBits.allTaken(capacity);
+        }
+    }
+
+    @Override
+    public synchronized void addSpot(ParkingSpot spot)
+    {
+        int slot=idSlot(spot.getSpotId(), count);
+        if(idTable[slot]!=0)
+        {
+            throw new IllegalArgumentException("Spot "+spot.getSpotId()+" is already on floor "+getFloorNumber());
+        }
+        int number=count;
+        if(number==ids.length)
+        {
+            throw new IllegalStateException("Floor "+getFloorNumber()+" is full ("+ids.length+" spots)");
+        }
+        VehicleSize size=spot.getSpotSize();
+        ids[number]=spot.getSpotId();
+        sizes[number]=(byte) size.ordinal();
+        xs[number]=spot.getX();
+        ys[number]=spot.getY();
+        Vehicle parked=spot.getParkedVehicle();
+        vehicles.set(number, parked);
+        idTable[slot]=number+1;
+        count=number+1;
+        if(parked==null)
+        {
+            taken[size.ordinal()].free(number);
+            spotsAdded(size, 1, 0);
+        }
+        else
+        {
+            spotsAdded(size, 0, 1);
+        }
+    }
+
+    /**
+     * Free spots of this size recounted from the bitset by popcount (64 spots per
+     * word), independent of the running counters; e.g. for audits.
+     */
+    public long countAvailableSpots(VehicleSize size)
+    {
+        return taken[size.ordinal()].countFree();
+    }
+
+    @Override
+    public Optional<ParkingSpot> getSpot(String spotId)
+    {
+        // read count first: a racing addSpot may have filled a slot whose ids entry
+        // this thread cannot see yet, but only for spot numbers at or past count
+        int published=count;
+        int number=idTable[idSlot(spotId, published)]-1;
+        return number<0 || number>=published ? Optional.empty() : Optional.of(new SpotView(number));
+    }
+
+    // slot holding spotId, or the empty slot where it would go; slots of spots
+    // numbered published or higher are skipped without reading ids
+    private int idSlot(String spotId, int published)
+    {
+        int mask=idTable.length-1;
+        int h=spotId.hashCode()*0x9E3779B9;
+        int slot=(h^(h>>>16))&mask;
+        int entry;
+        while((entry=idTable[slot])!=0 && (entry>published || !ids[entry-1].equals(spotId)))
+        {
+            slot=(slot+1)&mask;
+        }
+        return slot;
+    }
+
+    @Override
+    public Iterable<ParkingSpot> getSpots(VehicleSize size)
+    {
+        byte ordinal=(byte) size.ordinal();
+        return ()->IntStream.range(0, count).filter(n->sizes[n]==ordinal).<ParkingSpot>mapToObj(SpotView::new).iterator();
+    }
+
+    @Override
+    public Optional<ParkingSpot> findAvailableSpot(Vehicle vehicle)
+    {
+        int number=taken[vehicle.getSize().ordinal()].firstFree();
+        return number<0 ? Optional.empty() : Optional.of(new SpotView(number));
+    }
+
+    @Override
+    public Optional<ParkingSpot> claimAvailableSpot(Vehicle vehicle)
+    {
+        int number=claimFirstFree(vehicle);
+        return number<0 ? Optional.empty() : Optional.of(new SpotView(number));
+    }
+
+    @Override
+    public int claimAvailableSpots(List<Vehicle> vehicles, int from, ParkingSpot[] out)
+    {
+        int next=from;
+        while(next<vehicles.size())
+        {
+            int number=claimFirstFree(vehicles.get(next));
+            if(number<0)
+            {
+                break;
+            }
+            out[next++]=new SpotView(number);
+        }
+        return next-from;
+    }
+
+    /**
+     * Linear scan over the free bits and the coordinate arrays; with no per-spot
+     * objects to build a tree from, this stays a tight loop over contiguous memory.
+     */
+    @Override
+    public Optional<ParkingSpot> claimNearestSpot(Vehicle vehicle, double x, double y)
+    {
+        OccupancyBits bits=taken[vehicle.getSize().ordinal()];
+        while(true)
+        {
+            int best=-1;
+            double bestDistance=Double.POSITIVE_INFINITY;
+            for(int w=0;w<bits.wordCount();w++)
+            {
+                for(long free=bits.freeBits(w); free!=0; free&=free-1)
+                {
+                    int number=(w<<6)+Long.numberOfTrailingZeros(free);
+                    double dx=x-xs[number], dy=y-ys[number];
+                    double distance=dx*dx+dy*dy;
+                    if(distance<bestDistance)
+                    {
+                        best=number;
+                        bestDistance=distance;
+                    }
+                }
+            }
+            if(best<0)
+            {
+                return Optional.empty();
+            }
+            if(claim(best, vehicle))
+            {
+                return Optional.of(new SpotView(best));
+            }
+        }
+    }
+
+    private int claimFirstFree(Vehicle vehicle)
+    {
+        int number=taken[vehicle.getSize().ordinal()].takeFirstFree();
+        if(number>=0)
+        {
+            vehicles.set(number, vehicle);
+            spotClaimed(vehicle.getSize());
+        }
+        return number;
+    }
+
+    private boolean claim(int number, Vehicle vehicle)
+    {
+        if(vehicle.getSize().ordinal()!=sizes[number] || !taken[sizes[number]].take(number))
+        {
+            return false;
+        }
+        vehicles.set(number, vehicle);
+        spotClaimed(vehicle.getSize());
+        return true;
+    }
+
+    private boolean release(int number)
+    {
+        vehicles.set(number, null);
+        if(!taken[sizes[number]].free(number))
+        {
+            return false;
+        }
+        spotReleased(SIZES[sizes[number]]);
+        return true;
+    }
+
+    /**
+     * Flyweight view of spot `number`; all state is read from the columns, so the
+     * view allocates nothing beyond itself.
+     */
+    private final class SpotView extends ParkingSpot {
+        private final int number;
+
+        SpotView(int number)
+        {
+            super(ids[number], SIZES[sizes[number]], xs[number], ys[number], null);
+            this.number = number;
+        }
+
+        @Override
+        public ParkingFloor getFloor()
+        {
+            return ColumnarParkingFloor.this;
+        }
+
+        @Override
+        public boolean isOccupied()
+        {
+            return taken[sizes[number]].isTaken(number);
+        }
+
+        @Override
+        public Vehicle getParkedVehicle()
+        {
+            return vehicles.get(number);
+        }
+
+        @Override
+        public boolean tryClaim(Vehicle vehicle)
+        {
+            return claim(number, vehicle);
+        }
+
+        @Override
+        public boolean transfer(Vehicle vehicle)
+        {
+            if(vehicle.getSize().ordinal()!=sizes[number] || !isOccupied())
+            {
+                return false;
+            }
+            vehicles.set(number, vehicle);
+            return true;
+        }
+
+        @Override
+        public boolean release()
+        {
+            return ColumnarParkingFloor.this.release(number);
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof SpotView
+                    && ((SpotView) other).getFloor()==getFloor()
+                    && ((SpotView) other).number==number;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31*System.identityHashCode(getFloor())+number;
+        }
+    }
+}
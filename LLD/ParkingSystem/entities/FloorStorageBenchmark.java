@@ -0,0 +1,96 @@
+package LLD.ParkingSystem.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import LLD.ParkingSystem.Vehicle.Car;
+import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+
+/**
+ * Compares the object-per-spot ParkingFloor with ColumnarParkingFloor on one
+ * floor of mixed sizes (default 100k spots, or args[0]): heap per spot, filling
+ * the floor, claim/release churn at 90% occupancy, and an audit recount of free
+ * spots.
+ */
+public class FloorStorageBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int spots = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        for (int round = 0; round < ROUNDS; round++) {
+            boolean print = round == ROUNDS - 1; // earlier rounds warm up the JIT
+            run("ParkingFloor", new ParkingFloor(1), spots, print);
+            run("ColumnarParkingFloor", new ColumnarParkingFloor(1, spots), spots, print);
+        }
+    }
+
+    private static void run(String label, ParkingFloor floor, int spots, boolean print) {
+        long heapBefore = usedHeap();
+        Random random = new Random(42);
+        for (int i = 0; i < spots; i++) {
+            // 20% SMALL, 70% MEDIUM, 10% LARGE, interleaved
+            int roll = random.nextInt(10);
+            VehicleSize size = roll < 2 ? VehicleSize.SMALL : roll < 9 ? VehicleSize.MEDIUM : VehicleSize.LARGE;
+            floor.addSpot(new ParkingSpot("F1-" + i, size, random.nextDouble() * 500, random.nextDouble() * 200));
+        }
+        long bytesPerSpot = (usedHeap() - heapBefore) / spots;
+
+        Vehicle car = new Car("BENCH");
+        List<ParkingSpot> held = new ArrayList<>();
+        long start = System.nanoTime();
+        for (ParkingSpot spot = floor.claimAvailableSpot(car).orElse(null); spot != null; spot = floor.claimAvailableSpot(car).orElse(null)) {
+            held.add(spot);
+        }
+        double fillNanos = (System.nanoTime() - start) / (double) held.size();
+
+        // free 10% at random, then release a random held spot and claim the first free one
+        for (int i = 0; i < held.size() / 10; i++) {
+            held.remove(random.nextInt(held.size())).release();
+        }
+        int churn = 200_000;
+        start = System.nanoTime();
+        for (int i = 0; i < churn; i++) {
+            int victim = random.nextInt(held.size());
+            held.get(victim).release();
+            held.set(victim, floor.claimAvailableSpot(car).get());
+        }
+        double churnNanos = (System.nanoTime() - start) / (double) churn;
+
+        int audits = 200;
+        long free = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < audits; i++) {
+            free += recountFree(floor, VehicleSize.MEDIUM);
+        }
+        double auditMicros = (System.nanoTime() - start) / 1e3 / audits;
+
+        if (print) {
+            System.out.printf("%-22s %,d spots  heap=%4d B/spot  fill=%5.0f ns/claim  churn=%5.0f ns/release+claim  audit=%8.1f us (free MEDIUM=%d)%n",
+                    label, spots, bytesPerSpot, fillNanos, churnNanos, auditMicros, free / audits);
+        }
+    }
+
+    // what an audit has to do without trusting the counters
+    private static long recountFree(ParkingFloor floor, VehicleSize size) {
+        if (floor instanceof ColumnarParkingFloor) {
+            return ((ColumnarParkingFloor) floor).countAvailableSpots(size);
+        }
+        long free = 0;
+        for (ParkingSpot spot : floor.getSpots(size)) {
+            if (!spot.isOccupied()) {
+                free++;
+            }
+        }
+        return free;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
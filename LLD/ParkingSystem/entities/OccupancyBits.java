@@ -0,0 +1,177 @@
+package LLD.ParkingSystem.entities;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bitset of taken slots (bit i set = slot i taken), shared by the
+ * array-backed floors.
+ *
+ * Two levels: the slot words, and a summary with one bit per word that is set
+ * while the word has a free slot. Finding the lowest free slot scans the summary
+ * (one long covers 4096 slots) and then one word with numberOfTrailingZeros, so it
+ * stays cheap however fragmented occupancy gets. Slots are taken and freed with a
+ * CAS on their word; the summary is then brought up to date and, since it is only
+ * read as a hint, a stale summary bit just costs an extra probe.
+ */
+final class OccupancyBits {
+    private final AtomicLongArray words;
+    private final AtomicLongArray nonFull;
+
+    /**
+     * All slots start free; bits past capacity in the last word are taken so
+     * scans never return them.
+     */
+    OccupancyBits(int capacity)
+    {
+        int count = (capacity + 63) >>> 6;
+        this.words = new AtomicLongArray(count);
+        this.nonFull = new AtomicLongArray((count + 63) >>> 6);
+        if ((capacity & 63) != 0) {
+            words.set(count - 1, -1L << (capacity & 63));
+        }
+        for (int w = 0; w < count; w++) {
+            if (words.get(w) != -1L) {
+                markNonFull(w);
+            }
+        }
+    }
+
+    /**
+     * All slots start taken (for a bitset over slots of which only some are usable).
+     */
+    static OccupancyBits allTaken(int capacity)
+    {
+        OccupancyBits bits = new OccupancyBits(capacity);
+        for (int w = 0; w < bits.words.length(); w++) {
+            bits.words.set(w, -1L);
+        }
+        for (int s = 0; s < bits.nonFull.length(); s++) {
+            bits.nonFull.set(s, 0);
+        }
+        return bits;
+    }
+
+    int wordCount()
+    {
+        return words.length();
+    }
+
+    /**
+     * Word w inverted: bit i set = slot (w * 64 + i) free.
+     */
+    long freeBits(int w)
+    {
+        return ~words.get(w);
+    }
+
+    boolean isTaken(int index)
+    {
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Lowest free slot, or -1. Not taken.
+     */
+    int firstFree()
+    {
+        for (int s = 0; s < nonFull.length(); s++) {
+            for (long candidates = nonFull.get(s); candidates != 0; candidates &= candidates - 1) {
+                int w = (s << 6) + Long.numberOfTrailingZeros(candidates);
+                long free = ~words.get(w);
+                if (free != 0) {
+                    return (w << 6) + Long.numberOfTrailingZeros(free);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Takes the lowest free slot and returns it, or -1 if none is free.
+     */
+    int takeFirstFree()
+    {
+        while (true) {
+            int index = firstFree();
+            if (index < 0 || take(index)) {
+                return index;
+            }
+        }
+    }
+
+    /**
+     * Takes slot index; false if it was already taken.
+     */
+    boolean take(int index)
+    {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current | bit));
+        if ((current | bit) == -1L) {
+            clearNonFull(word);
+            if (words.get(word) != -1L) {
+                // a slot was freed before the summary bit went; put it back
+                markNonFull(word);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Frees slot index; false if it was already free.
+     */
+    boolean free(int index)
+    {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & bit) == 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current & ~bit));
+        if (current == -1L) {
+            markNonFull(word);
+        }
+        return true;
+    }
+
+    /**
+     * Free slots, by popcount over the words.
+     */
+    int countFree()
+    {
+        int free = 0;
+        for (int w = 0; w < words.length(); w++) {
+            free += Long.bitCount(~words.get(w));
+        }
+        return free;
+    }
+
+    private void markNonFull(int word)
+    {
+        long bit = 1L << word;
+        long current;
+        while (((current = nonFull.get(word >>> 6)) & bit) == 0
+                && !nonFull.compareAndSet(word >>> 6, current, current | bit)) {
+            // retry until the bit is set
+        }
+    }
+
+    private void clearNonFull(int word)
+    {
+        long bit = 1L << word;
+        long current;
+        while (((current = nonFull.get(word >>> 6)) & bit) != 0
+                && !nonFull.compareAndSet(word >>> 6, current, current & ~bit)) {
+            // retry until the bit is clear
+        }
+    }
+}
@@ -1,51 +1,327 @@
 package LLD.ParkingSystem.entities;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import LLD.ParkingSystem.Vehicle.Vehicle;
 import LLD.ParkingSystem.Vehicle.VehicleSize;
 
 public class ParkingFloor {
+    // sorts before every real spotId; ceiling(FIRST) is a null-safe first()
+    private static final ParkingSpot FIRST = new ParkingSpot("", VehicleSize.SMALL);
+
     private final int floorNumber;
     private final Map<String, ParkingSpot> parkingSpots; // spotId to ParkingSpot mapping
+    // free spots per size, ordered by spotId; kept in sync by ParkingSpot park/unpark
+    private final Map<VehicleSize, NavigableSet<ParkingSpot>> freeSpots;
+    // per VehicleSize ordinal; updated on every claim/release so reads never touch spots
+    private final LongAdder[] freeCounts;
+    private final LongAdder[] occupiedCounts;
+    // bumped whenever spots are added, replaced or removed
+    private final AtomicLong spotsVersion=new AtomicLong();
+    // copy-on-write array: notifying must not allocate on the park/unpark path
+    private volatile SpotAvailabilityListener[] listeners = new SpotAvailabilityListener[0];
+    // per VehicleSize ordinal; built by the first claimNearestSpot, dropped by addSpot.
+    // Claims and releases sync into the trees from the moment they are published
+    // here; searches only use them (searchIndex) once every spot has been synced
+    private volatile SpotKdTree[] spatialIndex;
+    private volatile SpotKdTree[] searchIndex;
+    // tree searches that lose their spot to another gate before falling back
+    private static final int NEAREST_ATTEMPTS=8;
 
     public ParkingFloor(int floorNumber)
     {
         this.floorNumber = floorNumber;
         this.parkingSpots = new ConcurrentHashMap<>();
+        this.freeSpots = new EnumMap<>(VehicleSize.class);
+        for(VehicleSize size:VehicleSize.values())
+        {
+            freeSpots.put(size, new ConcurrentSkipListSet<>(Comparator.comparing(ParkingSpot::getSpotId)));
+        }
+        this.freeCounts = new LongAdder[VehicleSize.values().length];
+        this.occupiedCounts = new LongAdder[VehicleSize.values().length];
+        for(int i=0;i<freeCounts.length;i++)
+        {
+            freeCounts[i]=new LongAdder();
+            occupiedCounts[i]=new LongAdder();
+        }
+    }
+
+    public int getFloorNumber()
+    {
+        return floorNumber;
+    }
+
+    public synchronized void addSpot(ParkingSpot spot)
+    {
+        searchIndex=null;
+        spatialIndex=null;
+        ParkingSpot previous=parkingSpots.put(spot.getSpotId(),spot);
+        if(previous!=null)
+        {
+            previous.setFloor(null);
+            if(freeSpots.get(previous.getSpotSize()).remove(previous))
+            {
+                spotsAdded(previous.getSpotSize(), -1, 0);
+            }
+            else
+            {
+                spotsAdded(previous.getSpotSize(), 0, -1);
+            }
+        }
+        spot.setFloor(this);
+        if(!spot.isOccupied())
+        {
+            freeSpots.get(spot.getSpotSize()).add(spot);
+            spotsAdded(spot.getSpotSize(), 1, 0);
+        }
+        else
+        {
+            spotsAdded(spot.getSpotSize(), 0, 1);
+        }
     }
 
-    public void addSpot(ParkingSpot spot)
+    public Optional<ParkingSpot> getSpot(String spotId)
     {
-        parkingSpots.put(spot.getSpotId(),spot);
+        return Optional.ofNullable(parkingSpots.get(spotId));
     }
-    public synchronized Optional<ParkingSpot> findAvailableSpot(Vehicle vehicle)
+
+    /**
+     * Spots of the given size on this floor, free or not, produced lazily in no
+     * particular order.
+     */
+    public Iterable<ParkingSpot> getSpots(VehicleSize size)
     {
-        return parkingSpots.values().stream()
-        
-        .filter(spot->!spot.isOccupied() && spot.canFitVehicle(vehicle))
-        .sorted(Comparator.comparing(ParkingSpot::getSpotSize))
-        .findFirst();
+        return ()->parkingSpots.values().stream().filter(spot->spot.getSpotSize()==size).iterator();
     }
-    public void displayAvailibility()
+
+    public synchronized void addListener(SpotAvailabilityListener listener)
+    {
+        SpotAvailabilityListener[] current=listeners;
+        SpotAvailabilityListener[] updated=Arrays.copyOf(current, current.length+1);
+        updated[current.length]=listener;
+        listeners=updated;
+    }
+
+    /**
+     * Number of free spots of the given size, read from counters (no spot is touched).
+     */
+    public long getAvailableSpots(VehicleSize size)
+    {
+        return freeCounts[size.ordinal()].sum();
+    }
+
+    public long getOccupiedSpots(VehicleSize size)
+    {
+        return occupiedCounts[size.ordinal()].sum();
+    }
+
+    /**
+     * Changes whenever the set of spots on this floor changes (claims and releases
+     * do not count), so callers can cache what getSpots returns.
+     */
+    public long getSpotsVersion()
+    {
+        return spotsVersion.get();
+    }
+
+    /**
+     * Lowest-id free spot of the vehicle's size, without claiming it. O(1): the
+     * head of a skip list, no scan over the floor and no stream allocation.
+     */
+    public Optional<ParkingSpot> findAvailableSpot(Vehicle vehicle)
+    {
+        return Optional.ofNullable(freeSpots.get(vehicle.getSize()).ceiling(FIRST));
+    }
+
+    /**
+     * Claims the lowest-id free spot that fits the vehicle. A spot lost to another
+     * gate between lookup and CAS is skipped and the next one tried, so no
+     * floor-wide lock is needed.
+     */
+    public Optional<ParkingSpot> claimAvailableSpot(Vehicle vehicle)
+    {
+        for(ParkingSpot spot=freeSpots.get(vehicle.getSize()).ceiling(FIRST); spot!=null;
+            spot=freeSpots.get(vehicle.getSize()).higher(spot))
+        {
+            if(spot.tryClaim(vehicle))
+            {
+                return Optional.of(spot);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Batch form of claimAvailableSpot for vehicles of one size: claims spots for
+     * vehicles[from..] in order during a single walk of the free set, stores them
+     * in out[from..] and returns how many were claimed.
+     */
+    public int claimAvailableSpots(List<Vehicle> vehicles, int from, ParkingSpot[] out)
+    {
+        if(from>=vehicles.size())
+        {
+            return 0;
+        }
+        NavigableSet<ParkingSpot> free=freeSpots.get(vehicles.get(from).getSize());
+        int next=from;
+        for(ParkingSpot spot=free.ceiling(FIRST); spot!=null && next<vehicles.size(); spot=free.higher(spot))
+        {
+            if(spot.tryClaim(vehicles.get(next)))
+            {
+                out[next++]=spot;
+            }
+        }
+        return next-from;
+    }
+
+    /**
+     * Claims the free spot of the vehicle's size closest to (x, y) on the floor plan
+     * (e.g. an entrance or elevator), via a per-size 2-d tree of the floor's spots.
+     * The trees are built on first use (and again after addSpot), so spots should
+     * all be added by then. A spot lost to another gate has its node corrected and
+     * the search is repeated; after NEAREST_ATTEMPTS losses, or if the tree has
+     * not caught up with a release yet, any free spot is claimed instead.
+     */
+    public Optional<ParkingSpot> claimNearestSpot(Vehicle vehicle, double x, double y)
+    {
+        SpotKdTree[] trees=searchIndex;
+        SpotKdTree tree=(trees!=null ? trees : spatialIndex())[vehicle.getSize().ordinal()];
+        for(int attempt=0;attempt<NEAREST_ATTEMPTS;attempt++)
+        {
+            ParkingSpot spot=tree.nearestFree(x, y);
+            if(spot==null)
+            {
+                break;
+            }
+            if(spot.tryClaim(vehicle))
+            {
+                return Optional.of(spot);
+            }
+            tree.sync(spot);
+        }
+        return claimAvailableSpot(vehicle);
+    }
+
+    // same lock as addSpot, so no spot is added while the trees are built
+    private synchronized SpotKdTree[] spatialIndex()
     {
-        Map<VehicleSize,Long> availableCounts=new HashMap<>();
-        for(ParkingSpot spot:parkingSpots.values())
+        SpotKdTree[] trees=searchIndex;
+        if(trees==null)
         {
-            if(!spot.isOccupied())
+            trees=new SpotKdTree[VehicleSize.values().length];
+            for(VehicleSize size:VehicleSize.values())
+            {
+                List<ParkingSpot> spots=new ArrayList<>();
+                for(ParkingSpot spot:parkingSpots.values())
+                {
+                    if(spot.getSpotSize()==size)
+                    {
+                        spots.add(spot);
+                    }
+                }
+                trees[size.ordinal()]=new SpotKdTree(spots);
+            }
+            // publish first: a claim or release from here on syncs its own spot, and
+            // the pass below syncs the rest from their state after publication
+            spatialIndex=trees;
+            for(SpotKdTree tree:trees)
             {
-                VehicleSize size=spot.getSpotSize();
-                availableCounts.put(size,availableCounts.getOrDefault(size, 0L)+1);
+                tree.syncAll();
             }
+            searchIndex=trees;
         }
+        return trees;
+    }
+
+    public void displayAvailibility()
+    {
         for(VehicleSize size:VehicleSize.values())
         {
-            long count=availableCounts.getOrDefault(size, 0L);
-            System.out.println("Available spots of size "+size+" : "+count);
+            System.out.println("Available spots of size "+size+" : "+getAvailableSpots(size));
+        }
+    }
+
+    /**
+     * Records spots appearing on (positive) or leaving (negative) this floor.
+     */
+    protected void spotsAdded(VehicleSize size, int free, int occupied)
+    {
+        spotsVersion.incrementAndGet();
+        freeCounts[size.ordinal()].add(free);
+        occupiedCounts[size.ordinal()].add(occupied);
+        if(free!=0)
+        {
+            notifyAvailabilityChanged(size, free);
+        }
+    }
+
+    protected void spotClaimed(VehicleSize size)
+    {
+        freeCounts[size.ordinal()].decrement();
+        occupiedCounts[size.ordinal()].increment();
+        notifyAvailabilityChanged(size, -1);
+    }
+
+    protected void spotReleased(VehicleSize size)
+    {
+        occupiedCounts[size.ordinal()].decrement();
+        freeCounts[size.ordinal()].increment();
+        notifyAvailabilityChanged(size, 1);
+    }
+
+    private void notifyAvailabilityChanged(VehicleSize size, int delta)
+    {
+        for(SpotAvailabilityListener listener:listeners)
+        {
+            listener.onAvailabilityChanged(this, size, delta);
+        }
+    }
+
+    void onSpotOccupied(ParkingSpot spot)
+    {
+        freeSpots.get(spot.getSpotSize()).remove(spot);
+        syncSpatialIndex(spot);
+        spotClaimed(spot.getSpotSize());
+    }
+
+    void onSpotFreed(ParkingSpot spot)
+    {
+        NavigableSet<ParkingSpot> free=freeSpots.get(spot.getSpotSize());
+        free.add(spot);
+        // re-claimed between release and add: take it out again, unless it was freed
+        // once more in the meantime (that release's add was a no-op, so the spot must
+        // stay). Every exit leaves a free spot in the set; an occupied one is removed
+        // here or by its claimer, and its next release adds it after this remove.
+        while(spot.isOccupied())
+        {
+            free.remove(spot);
+            if(spot.isOccupied())
+            {
+                break;
+            }
+            free.add(spot);
+        }
+        syncSpatialIndex(spot);
+        spotReleased(spot.getSpotSize());
+    }
+
+    private void syncSpatialIndex(ParkingSpot spot)
+    {
+        SpotKdTree[] trees=spatialIndex;
+        if(trees!=null)
+        {
+            trees[spot.getSpotSize().ordinal()].sync(spot);
         }
     }
     
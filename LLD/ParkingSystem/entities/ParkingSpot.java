@@ -1,52 +1,142 @@
 package LLD.ParkingSystem.entities;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import LLD.ParkingSystem.Vehicle.Vehicle;
 import LLD.ParkingSystem.Vehicle.VehicleSize;
 
 public class ParkingSpot {
     private final String spotId;
-    private  boolean isOccupied;
-    private  Vehicle parkedVehicle;
+    // null when free; claimed with a single CAS so two gates can never share a spot
+    private final AtomicReference<Vehicle> parkedVehicle;
     private final VehicleSize spotSize;
+    private ParkingFloor floor;
+    // position on the floor plan, in metres; (0, 0) when not given
+    private final double x;
+    private final double y;
+    // index in the floor's SpotKdTree for this size, -1 until the tree is built
+    private int treePosition=-1;
     public ParkingSpot(String spotId, VehicleSize spotSize) {
+        this(spotId, spotSize, 0, 0);
+    }
+    public ParkingSpot(String spotId, VehicleSize spotSize, double x, double y) {
+        this(spotId, spotSize, x, y, new AtomicReference<>());
+    }
+    /**
+     * For views handed out by floors that keep spot state in their own arrays:
+     * parkedVehicle is null and the view overrides every method that reads it.
+     */
+    ParkingSpot(String spotId, VehicleSize spotSize, double x, double y, AtomicReference<Vehicle> parkedVehicle) {
         this.spotId = spotId;
         this.spotSize = spotSize;
-        this.isOccupied = isOccupied;
+        this.x = x;
+        this.y = y;
         this.parkedVehicle = parkedVehicle;
     }
     public String getSpotId() {
         return spotId;
     }
     public boolean isOccupied() {
-        return isOccupied;
+        return parkedVehicle.get() != null;
     }
     public Vehicle getParkedVehicle() {
-        return parkedVehicle;
+        return parkedVehicle.get();
     }
     public VehicleSize getSpotSize() {
         return spotSize;
     }
+    public double getX() {
+        return x;
+    }
+    public double getY() {
+        return y;
+    }
 
-    public synchronized boolean isAvailable()
+    public boolean isAvailable()
     {
-        return !isOccupied;
+        return !isOccupied();
     }
-    public synchronized void parkVehicle(Vehicle vehicle)
+
+    /**
+     * Atomically parks the vehicle if the spot is free and fits it.
+     * Returns false if another gate claimed the spot first.
+     */
+    public boolean tryClaim(Vehicle vehicle)
     {
-        this.parkedVehicle = vehicle;
-        this.isOccupied = true;
+        if(!fitsSize(vehicle) || !parkedVehicle.compareAndSet(null, vehicle))
+        {
+            return false;
+        }
+        if(floor!=null)
+        {
+            floor.onSpotOccupied(this);
+        }
+        return true;
     }
-    public synchronized void unparkVehicle()
+
+    /**
+     * Frees the spot. Returns false if it was already free.
+     */
+    public boolean release()
     {
-        this.parkedVehicle = null;
-        this.isOccupied = false;
+        if(parkedVehicle.getAndSet(null)==null)
+        {
+            return false;
+        }
+        if(floor!=null)
+        {
+            floor.onSpotFreed(this);
+        }
+        return true;
     }
-    public boolean canFitVehicle(Vehicle vehicle)
+
+    /**
+     * Hands an occupied spot straight to another vehicle of the same size, without
+     * it ever being free (and so without any other gate seeing it). Returns false
+     * if the spot is not occupied or does not fit the vehicle.
+     */
+    public boolean transfer(Vehicle vehicle)
     {
-        if(isOccupied)
+        Vehicle current=parkedVehicle.get();
+        return current!=null && fitsSize(vehicle) && parkedVehicle.compareAndSet(current, vehicle);
+    }
+
+    public void parkVehicle(Vehicle vehicle)
+    {
+        if(!tryClaim(vehicle))
         {
-            return false;
+            throw new IllegalStateException("Spot "+getSpotId()+" cannot take vehicle "+vehicle.getLicensePlate());
         }
+    }
+    public void unparkVehicle()
+    {
+        release();
+    }
+    /**
+     * Floor this spot was added to, or null if it is not on a floor.
+     */
+    public ParkingFloor getFloor()
+    {
+        return floor;
+    }
+    void setFloor(ParkingFloor floor)
+    {
+        this.floor = floor;
+    }
+    int getTreePosition()
+    {
+        return treePosition;
+    }
+    void setTreePosition(int treePosition)
+    {
+        this.treePosition = treePosition;
+    }
+    public boolean canFitVehicle(Vehicle vehicle)
+    {
+        return !isOccupied() && fitsSize(vehicle);
+    }
+    private boolean fitsSize(Vehicle vehicle)
+    {
        switch(vehicle.getSize())
        {
              case SMALL:
@@ -1,24 +1,29 @@
 package LLD.ParkingSystem.entities;
 
 import java.util.Date;
-import java.util.UUID;
 
 import LLD.ParkingSystem.Vehicle.Vehicle;
 
 public class ParkingTicket {
-    private final String ticketId;
+    private final long ticketId;
     private final Vehicle vehicle;
     private final  ParkingSpot spot;
     private final long entryTime;
     private long exitTime;
 
-    public ParkingTicket( Vehicle vehicle,ParkingSpot spot) {
-        this.ticketId = UUID.randomUUID().toString();
+    public ParkingTicket(long ticketId, Vehicle vehicle,ParkingSpot spot) {
+        this(ticketId, vehicle, spot, new Date().getTime());
+    }
+    /**
+     * Rebuilds a ticket with its original entry time (journal recovery).
+     */
+    public ParkingTicket(long ticketId, Vehicle vehicle,ParkingSpot spot, long entryTime) {
+        this.ticketId = ticketId;
         this.vehicle = vehicle;
         this.spot = spot;
-        this.entryTime = new Date().getTime();
+        this.entryTime = entryTime;
     }
-    public String getTicketId() {
+    public long getTicketId() {
         return ticketId;
     }
     public Vehicle getVehicle() {
@@ -35,6 +40,9 @@ public class ParkingTicket {
     }
 
     public void setExitTime(){
-        this.exitTime=new Date().getTime();
+        setExitTime(new Date().getTime());
+    }
+    public void setExitTime(long exitTime){
+        this.exitTime=exitTime;
     }
 }
@@ -0,0 +1,16 @@
+package LLD.ParkingSystem.entities;
+
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+
+/**
+ * Observer of free-spot changes on a ParkingFloor. Called on the parking or
+ * unparking thread right after the change, so implementations must be cheap
+ * and thread-safe.
+ */
+public interface SpotAvailabilityListener {
+    /**
+     * @param delta +1 when a spot of this size became free (or was added),
+     *              -1 when one was taken
+     */
+    void onAvailabilityChanged(ParkingFloor floor, VehicleSize size, int delta);
+}
@@ -0,0 +1,186 @@
+package LLD.ParkingSystem.entities;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 2-d tree over the spots of one size on one floor, for nearest-free-spot queries.
+ *
+ * Spots do not move, so the tree is built once, balanced, in an implicit layout:
+ * the node for index range [lo, hi) sits at (lo + hi) / 2, its children cover the
+ * two halves, and levels alternate between splitting on x and on y. Every node
+ * keeps a free bit for its own spot and counts the free bits in its subtree; a
+ * claim or release adjusts the counts on one root-to-leaf path (O(log n)), and
+ * searches skip full subtrees, so the nearest free spot is found in O(log n)
+ * typically.
+ *
+ * Bits are never flipped blindly: sync(spot) copies the spot's current state into
+ * its bit, and only a successful CAS on the bit moves the counts. Syncing is
+ * idempotent and converges (see sync), so the tree can be built while spots are
+ * being claimed and released, and a caller that finds a stale node can correct it.
+ * Counts still lag the spots briefly: the caller claims the returned spot with
+ * tryClaim and searches again if it lost the race.
+ */
+final class SpotKdTree {
+    private static final Comparator<ParkingSpot> BY_X = Comparator.comparingDouble(ParkingSpot::getX);
+    private static final Comparator<ParkingSpot> BY_Y = Comparator.comparingDouble(ParkingSpot::getY);
+
+    private final ParkingSpot[] nodes;
+    // coordinates copied out in node order, so a search reads no spot objects
+    private final double[] xs;
+    private final double[] ys;
+    // 1 if the node's own spot was free when last synced
+    private final AtomicIntegerArray freeNode;
+    private final AtomicIntegerArray freeInSubtree;
+
+    /**
+     * Every spot starts out occupied in the tree; sync them once the tree is
+     * visible to the floor's claims and releases.
+     */
+    SpotKdTree(Collection<ParkingSpot> spots)
+    {
+        this.nodes = spots.toArray(new ParkingSpot[0]);
+        build(0, nodes.length, 0);
+        this.xs = new double[nodes.length];
+        this.ys = new double[nodes.length];
+        this.freeNode = new AtomicIntegerArray(nodes.length);
+        this.freeInSubtree = new AtomicIntegerArray(nodes.length);
+        for(int i=0;i<nodes.length;i++)
+        {
+            xs[i]=nodes[i].getX();
+            ys[i]=nodes[i].getY();
+            nodes[i].setTreePosition(i);
+        }
+    }
+
+    void syncAll()
+    {
+        for(ParkingSpot spot:nodes)
+        {
+            sync(spot);
+        }
+    }
+
+    /**
+     * Copies whether spot is free into its node. A caller only returns once it has
+     * seen the spot still in the state it wrote, so whichever sync runs last after
+     * the spot's final change leaves the right bit, however syncs interleave.
+     * Spots not in this tree (e.g. positioned by a newer one) are ignored.
+     */
+    void sync(ParkingSpot spot)
+    {
+        int position=spot.getTreePosition();
+        if(position<0 || position>=nodes.length || nodes[position]!=spot)
+        {
+            return;
+        }
+        while(true)
+        {
+            int free=spot.isAvailable() ? 1 : 0;
+            int current=freeNode.get(position);
+            if(current!=free)
+            {
+                if(!freeNode.compareAndSet(position, current, free))
+                {
+                    continue;
+                }
+                update(position, free-current);
+            }
+            if((spot.isAvailable() ? 1 : 0)==free)
+            {
+                return;
+            }
+        }
+    }
+
+    private void build(int lo, int hi, int depth)
+    {
+        if(hi-lo<=1)
+        {
+            return;
+        }
+        Arrays.sort(nodes, lo, hi, depth%2==0 ? BY_X : BY_Y);
+        int mid=(lo+hi)>>>1;
+        build(lo, mid, depth+1);
+        build(mid+1, hi, depth+1);
+    }
+
+    // adds delta to the free count of every subtree containing position
+    private void update(int position, int delta)
+    {
+        int lo=0, hi=nodes.length;
+        while(lo<hi)
+        {
+            int mid=(lo+hi)>>>1;
+            freeInSubtree.addAndGet(mid, delta);
+            if(position==mid)
+            {
+                return;
+            }
+            if(position<mid)
+            {
+                hi=mid;
+            }
+            else
+            {
+                lo=mid+1;
+            }
+        }
+    }
+
+    /**
+     * Free spot closest to (x, y), or null if none is free. Not claimed.
+     */
+    ParkingSpot nearestFree(double x, double y)
+    {
+        Nearest best=new Nearest();
+        search(0, nodes.length, 0, x, y, best);
+        return best.spot;
+    }
+
+    private void search(int lo, int hi, int depth, double x, double y, Nearest best)
+    {
+        if(lo>=hi)
+        {
+            return;
+        }
+        int mid=(lo+hi)>>>1;
+        int free=freeInSubtree.get(mid);
+        if(free<=0)
+        {
+            return;
+        }
+        double dx=x-xs[mid], dy=y-ys[mid];
+        double distance=dx*dx+dy*dy;
+        if(distance<best.distance && freeNode.get(mid)==1)
+        {
+            best.spot=nodes[mid];
+            best.distance=distance;
+        }
+        double split=depth%2==0 ? dx : dy;
+        // the query's side first; the other side only if the split line is closer than the best so far
+        if(split<0)
+        {
+            search(lo, mid, depth+1, x, y, best);
+            if(split*split<best.distance)
+            {
+                search(mid+1, hi, depth+1, x, y, best);
+            }
+        }
+        else
+        {
+            search(mid+1, hi, depth+1, x, y, best);
+            if(split*split<best.distance)
+            {
+                search(lo, mid, depth+1, x, y, best);
+            }
+        }
+    }
+
+    private static final class Nearest {
+        ParkingSpot spot;
+        double distance=Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,69 @@
+package LLD.ParkingSystem.entities;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style 64-bit ticket ids:
+ *
+ *   | 41 bits millis since EPOCH | 10 bits gate | 12 bits sequence |
+ *
+ * Ids from one generator are strictly increasing (the sequence borrows from the
+ * next millisecond on overflow and the clock going backwards is ignored), and
+ * generators with different gate numbers never collide, so each gate can own one
+ * and issue ids without touching shared state. Cheaper than UUID.randomUUID(),
+ * which goes through SecureRandom on every entry.
+ */
+public final class TicketIdGenerator {
+    public static final long EPOCH = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+    private static final int GATE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    public static final int MAX_GATE = (1 << GATE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long gateBits;
+    // (millis since EPOCH) << SEQUENCE_BITS | sequence, of the last id issued
+    private final AtomicLong last = new AtomicLong();
+
+    public TicketIdGenerator(int gate)
+    {
+        if(gate<0 || gate>MAX_GATE)
+        {
+            throw new IllegalArgumentException("gate must be in [0, "+MAX_GATE+"]: "+gate);
+        }
+        this.gateBits = (long) gate << SEQUENCE_BITS;
+    }
+
+    public long nextId()
+    {
+        while(true)
+        {
+            long prev=last.get();
+            long now=(System.currentTimeMillis()-EPOCH)<<SEQUENCE_BITS;
+            long next=now>prev ? now : prev+1;
+            if(last.compareAndSet(prev, next))
+            {
+                return (next>>>SEQUENCE_BITS)<<(GATE_BITS+SEQUENCE_BITS) | gateBits | (next&SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Makes every later id from this generator greater than id (e.g. one recovered
+     * from the journal), even if the clock has moved backwards since it was issued.
+     */
+    public void advancePast(long id)
+    {
+        long issued=(id>>>(GATE_BITS+SEQUENCE_BITS))<<SEQUENCE_BITS | (id&SEQUENCE_MASK);
+        last.accumulateAndGet(issued, Math::max);
+    }
+
+    public static long timestampOf(long id)
+    {
+        return (id>>>(GATE_BITS+SEQUENCE_BITS))+EPOCH;
+    }
+
+    public static int gateOf(long id)
+    {
+        return (int) ((id>>>SEQUENCE_BITS)&MAX_GATE);
+    }
+}
@@ -0,0 +1,191 @@
+package LLD.ParkingSystem.events;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Event sink that keeps I/O off the gates' path.
+ *
+ * Gates copy each event into a preallocated slot of a ring buffer (multi-producer,
+ * single-consumer, no locks): claim a sequence with getAndIncrement, fill the
+ * slot, publish it with a volatile write. A background thread formats published
+ * events as structured key=value lines and writes them in batches, flushing when
+ * it catches up. Slots are reused, so publishing allocates nothing.
+ *
+ * If the consumer falls a full ring behind, gates wait for it (backpressure)
+ * rather than drop events.
+ *
+ * A failed write does not stop the consumer: the first IOException is kept (see
+ * getWriteFailure), later output is discarded and the ring keeps draining, so
+ * gates never block on a broken log. Should the consumer thread die anyway,
+ * gates stop waiting for it and their events are dropped.
+ */
+public class AsyncEventSink implements ParkingEventSink {
+    private static final long IDLE_PARK_NANOS = 200_000;
+    private static final int OUTPUT_BUFFER = 1 << 16;
+
+    private final Slot[] ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    // every sequence below this has been formatted; slots up to consumed + capacity are free
+    private final AtomicLong consumed = new AtomicLong();
+    private final OutputStream out;
+    private final boolean closeOut;
+    private final Thread consumer;
+    private volatile boolean closed;
+    // set once the consumer has exited, normally or not
+    private volatile boolean stopped;
+    // first write error; once set, output is discarded
+    private volatile IOException writeFailure;
+
+    private static final class Slot {
+        volatile long published = -1;
+        ParkingEventType type;
+        long timestamp;
+        String licensePlate;
+        String spotId;
+        long ticketId;
+        double fee;
+    }
+
+    /**
+     * @param capacity ring size, rounded up to a power of two
+     * @param closeOut whether close() also closes out (false for System.out)
+     */
+    public AsyncEventSink(OutputStream out, int capacity, boolean closeOut) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.out = new BufferedOutputStream(out, OUTPUT_BUFFER);
+        this.closeOut = closeOut;
+        this.consumer = new Thread(this::consume, "parking-event-sink");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    public static AsyncEventSink toStdout() {
+        return new AsyncEventSink(System.out, 1 << 14, false);
+    }
+
+    public static AsyncEventSink toFile(Path file) throws IOException {
+        return new AsyncEventSink(new FileOutputStream(file.toFile(), true), 1 << 14, true);
+    }
+
+    /**
+     * The first error writing the log, or null if every write so far succeeded.
+     * Events formatted after it were discarded.
+     */
+    public IOException getWriteFailure() {
+        return writeFailure;
+    }
+
+    @Override
+    public void onEvent(ParkingEventType type, long timestamp, String licensePlate, String spotId, long ticketId, double fee) {
+        if (closed || stopped) {
+            return;
+        }
+        long sequence = claimed.getAndIncrement();
+        while (sequence - consumed.get() >= ring.length) {
+            if (stopped) {
+                return; // nobody will free a slot
+            }
+            Thread.yield(); // ring full: let the consumer catch up
+        }
+        Slot slot = ring[(int) sequence & mask];
+        slot.type = type;
+        slot.timestamp = timestamp;
+        slot.licensePlate = licensePlate;
+        slot.spotId = spotId;
+        slot.ticketId = ticketId;
+        slot.fee = fee;
+        slot.published = sequence;
+    }
+
+    /**
+     * Writes out every event published so far and stops the consumer.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void consume() {
+        StringBuilder line = new StringBuilder(128);
+        long next = 0;
+        try {
+            while (true) {
+                Slot slot = ring[(int) next & mask];
+                if (slot.published == next) {
+                    format(slot, line);
+                    slot.licensePlate = null;
+                    slot.spotId = null;
+                    next++;
+                    consumed.lazySet(next);
+                    if (writeFailure == null) {
+                        try {
+                            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+                        } catch (IOException e) {
+                            writeFailure = e;
+                        }
+                    }
+                    continue;
+                }
+                if (writeFailure == null) {
+                    try {
+                        out.flush();
+                    } catch (IOException e) {
+                        writeFailure = e;
+                    }
+                }
+                if (closed && claimed.get() == next) {
+                    break;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        } finally {
+            stopped = true;
+            if (closeOut) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    if (writeFailure == null) {
+                        writeFailure = e;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void format(Slot slot, StringBuilder line) {
+        line.setLength(0);
+        line.append("ts=").append(slot.timestamp).append(" event=").append(slot.type);
+        if (slot.licensePlate != null) {
+            line.append(" plate=").append(slot.licensePlate);
+        }
+        if (slot.spotId != null) {
+            line.append(" spot=").append(slot.spotId);
+        }
+        if (slot.ticketId != 0) {
+            line.append(" ticket=").append(slot.ticketId);
+        }
+        if (!Double.isNaN(slot.fee)) {
+            line.append(" fee=").append(slot.fee);
+        }
+        line.append('\n');
+    }
+}
@@ -0,0 +1,227 @@
+package LLD.ParkingSystem.events;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import LLD.ParkingSystem.entities.ParkingFloor;
+import LLD.ParkingSystem.index.AvailabilitySnapshot;
+
+/**
+ * Live availability for display boards, apps and dashboards, as a Flow.Publisher
+ * of AvailabilitySnapshot.
+ *
+ * The park/unpark path only sets a dirty flag (through SpotAvailabilityListener; a
+ * volatile read when already dirty). A daemon dispatcher checks the flag once per
+ * refresh period, builds one snapshot from the floor counters and offers it to
+ * every subscriber, so any number of changes within a period become one event.
+ *
+ * Each subscriber has a bounded buffer and is drained on the executor, honouring
+ * request(n). Snapshots carry absolute counts, so when a slow subscriber's buffer
+ * is full the newest snapshot replaces the last buffered one: it falls behind by
+ * at most bufferSize snapshots and still ends up with the latest counts.
+ * A new subscriber first receives the current state. Subscriber callbacks share
+ * the executor, so onNext should hand work off rather than block.
+ */
+public final class OccupancyPublisher implements Flow.Publisher<AvailabilitySnapshot>, AutoCloseable {
+    private final List<ParkingFloor> floors = new CopyOnWriteArrayList<>();
+    private final Set<OccupancySubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Executor executor;
+    private final int bufferSize;
+    private final long periodNanos;
+    private final Thread dispatcher;
+    private final AtomicLong coalesced = new AtomicLong();
+    private volatile boolean dirty;
+    private volatile boolean closed;
+
+    /**
+     * @param refreshPeriod how often changes are turned into a snapshot
+     * @param bufferSize    snapshots buffered per subscriber before coalescing
+     * @param executor      runs onSubscribe/onNext/onComplete for subscribers
+     */
+    public OccupancyPublisher(Duration refreshPeriod, int bufferSize, Executor executor) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        this.periodNanos = refreshPeriod.toNanos();
+        this.bufferSize = bufferSize;
+        this.executor = executor;
+        this.dispatcher = new Thread(this::dispatch, "occupancy-publisher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Includes floor in the snapshots. Floors of a lot are added in lot order.
+     */
+    public void addFloor(ParkingFloor floor) {
+        floors.add(floor);
+        floor.addListener((f, size, delta) -> markDirty());
+        markDirty();
+    }
+
+    // the only work done on the parking thread
+    private void markDirty() {
+        if (!dirty) {
+            dirty = true;
+        }
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super AvailabilitySnapshot> subscriber) {
+        Objects.requireNonNull(subscriber);
+        OccupancySubscription subscription = new OccupancySubscription(subscriber);
+        if (!closed) {
+            subscriptions.add(subscription);
+            subscription.offer(AvailabilitySnapshot.of(floors));
+        }
+        if (closed) {
+            subscription.complete();
+        }
+        executor.execute(() -> {
+            subscriber.onSubscribe(subscription);
+            subscription.started();
+        });
+    }
+
+    /**
+     * Snapshots dropped so far because a subscriber's buffer was full.
+     */
+    public long coalescedCount() {
+        return coalesced.get();
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Stops publishing. Subscribers get what is buffered, then onComplete.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(dispatcher);
+    }
+
+    private void dispatch() {
+        while (!closed) {
+            LockSupport.parkNanos(this, periodNanos);
+            if (dirty && !closed) {
+                dirty = false;
+                AvailabilitySnapshot snapshot = AvailabilitySnapshot.of(floors);
+                for (OccupancySubscription subscription : subscriptions) {
+                    subscription.offer(snapshot);
+                }
+            }
+        }
+        for (OccupancySubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    private final class OccupancySubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super AvailabilitySnapshot> subscriber;
+        private final ArrayDeque<AvailabilitySnapshot> buffer = new ArrayDeque<>(); // guarded by this
+        private final AtomicLong demand = new AtomicLong();
+        // drain runs on one thread at a time: whoever moves this off 0
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean subscribed;
+        private volatile boolean cancelled;
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        OccupancySubscription(Flow.Subscriber<? super AvailabilitySnapshot> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void offer(AvailabilitySnapshot snapshot) {
+            synchronized (this) {
+                if (buffer.size() == bufferSize) {
+                    buffer.pollLast();
+                    coalesced.incrementAndGet();
+                }
+                buffer.addLast(snapshot);
+            }
+            schedule();
+        }
+
+        void complete() {
+            completed = true;
+            schedule();
+        }
+
+        void started() {
+            subscribed = true;
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("request must be positive, was " + n);
+            } else {
+                demand.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        private void schedule() {
+            if (subscribed && wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (error != null && !cancelled) {
+                    cancel();
+                    subscriber.onError(error);
+                }
+                while (!cancelled && demand.get() > 0) {
+                    AvailabilitySnapshot next;
+                    synchronized (this) {
+                        next = buffer.pollFirst();
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                    try {
+                        subscriber.onNext(next);
+                    } catch (Throwable t) {
+                        cancel();
+                        subscriber.onError(t);
+                    }
+                }
+                boolean empty;
+                synchronized (this) {
+                    empty = buffer.isEmpty();
+                }
+                if (completed && empty && !cancelled) {
+                    cancel();
+                    subscriber.onComplete();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package LLD.ParkingSystem.events;
+
+/**
+ * Receives what happens at the gates. Called on the park/unpark path by every
+ * gate, so implementations must be thread-safe and cheap: fields are passed as
+ * primitives and references rather than as an event object, so a sink that
+ * copies them (AsyncEventSink) or ignores them (NO_OP) allocates nothing.
+ *
+ * Fields that do not apply to an event are null, 0 or NaN (fee).
+ */
+public interface ParkingEventSink extends AutoCloseable {
+    ParkingEventSink NO_OP = (type, timestamp, licensePlate, spotId, ticketId, fee) -> { };
+
+    void onEvent(ParkingEventType type, long timestamp, String licensePlate, String spotId, long ticketId, double fee);
+
+    /**
+     * Flushes anything buffered; the sink must not be used afterwards.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,19 @@
+package LLD.ParkingSystem.events;
+
+public enum ParkingEventType {
+    PARKED,
+    UNPARKED,
+    // no free spot of the vehicle's size
+    NO_SPOT,
+    ALREADY_PARKED,
+    // no spot yet; queued by parkOrWait
+    WAITLISTED,
+    WAIT_TIMED_OUT,
+    TICKET_NOT_FOUND,
+    // journaled ticket whose spot is gone or taken; not restored
+    RESTORE_FAILED,
+    // closed-ticket log write failed; the ticket is missing from settlement
+    CLOSED_TICKET_NOT_LOGGED,
+    // periodic journal snapshot failed; retried next period, segments kept
+    SNAPSHOT_FAILED
+}
@@ -0,0 +1,54 @@
+package LLD.ParkingSystem.events;
+
+import java.io.PrintStream;
+
+/**
+ * Writes each event synchronously as a readable line, e.g. for the demo.
+ * PrintStream locks internally, so every gate serializes on it: use
+ * AsyncEventSink (or NO_OP) when throughput matters.
+ */
+public class PrintStreamEventSink implements ParkingEventSink {
+    private final PrintStream out;
+
+    public PrintStreamEventSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onEvent(ParkingEventType type, long timestamp, String licensePlate, String spotId, long ticketId, double fee) {
+        switch (type) {
+            case PARKED:
+                out.printf("%s parked at %s. Ticket: %d%n", licensePlate, spotId, ticketId);
+                break;
+            case UNPARKED:
+                out.printf("%s left %s. Ticket: %d, fee: %.2f%n", licensePlate, spotId, ticketId, fee);
+                break;
+            case NO_SPOT:
+                out.println("No spot available for " + licensePlate);
+                break;
+            case WAITLISTED:
+                out.println(licensePlate + " is waiting for a spot");
+                break;
+            case WAIT_TIMED_OUT:
+                out.println(licensePlate + " gave up waiting for a spot");
+                break;
+            case ALREADY_PARKED:
+                out.println(licensePlate + " is already parked");
+                break;
+            case TICKET_NOT_FOUND:
+                out.println("Ticket not found: " + (licensePlate != null ? licensePlate : Long.toString(ticketId)));
+                break;
+            case RESTORE_FAILED:
+                out.printf("Cannot restore ticket %d: spot %s unavailable%n", ticketId, spotId);
+                break;
+            case CLOSED_TICKET_NOT_LOGGED:
+                out.printf("Failed to record closed ticket %d%n", ticketId);
+                break;
+            case SNAPSHOT_FAILED:
+                out.println("Ticket journal snapshot failed");
+                break;
+            default:
+                out.println(type);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package LLD.ParkingSystem.index;
+
+import java.util.List;
+
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingFloor;
+
+/**
+ * Immutable point-in-time view of free and occupied spots per floor and size.
+ * Built from the floors' counters in O(floors x sizes); no spot is visited.
+ * Each counter is read independently, so under concurrent traffic the numbers
+ * are individually accurate but not a single atomic cut.
+ */
+public final class AvailabilitySnapshot {
+    private static final int SIZES = VehicleSize.values().length;
+
+    private final int[] floorNumbers;
+    private final long[] free;     // [floorPosition * SIZES + size.ordinal()]
+    private final long[] occupied;
+
+    private AvailabilitySnapshot(int[] floorNumbers, long[] free, long[] occupied)
+    {
+        this.floorNumbers = floorNumbers;
+        this.free = free;
+        this.occupied = occupied;
+    }
+
+    public static AvailabilitySnapshot of(List<ParkingFloor> floors)
+    {
+        int[] floorNumbers = new int[floors.size()];
+        long[] free = new long[floors.size() * SIZES];
+        long[] occupied = new long[floors.size() * SIZES];
+        for (int pos = 0; pos < floors.size(); pos++) {
+            ParkingFloor floor = floors.get(pos);
+            floorNumbers[pos] = floor.getFloorNumber();
+            for (VehicleSize size : VehicleSize.values()) {
+                free[pos * SIZES + size.ordinal()] = floor.getAvailableSpots(size);
+                occupied[pos * SIZES + size.ordinal()] = floor.getOccupiedSpots(size);
+            }
+        }
+        return new AvailabilitySnapshot(floorNumbers, free, occupied);
+    }
+
+    public int floorCount()
+    {
+        return floorNumbers.length;
+    }
+
+    public int floorNumber(int floorPosition)
+    {
+        return floorNumbers[floorPosition];
+    }
+
+    public long free(int floorPosition, VehicleSize size)
+    {
+        return free[floorPosition * SIZES + size.ordinal()];
+    }
+
+    public long occupied(int floorPosition, VehicleSize size)
+    {
+        return occupied[floorPosition * SIZES + size.ordinal()];
+    }
+
+    public long totalFree(VehicleSize size)
+    {
+        long sum = 0;
+        for (int pos = 0; pos < floorNumbers.length; pos++) {
+            sum += free(pos, size);
+        }
+        return sum;
+    }
+
+    public long totalOccupied(VehicleSize size)
+    {
+        long sum = 0;
+        for (int pos = 0; pos < floorNumbers.length; pos++) {
+            sum += occupied(pos, size);
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int pos = 0; pos < floorNumbers.length; pos++) {
+            sb.append("Floor ").append(floorNumbers[pos]).append(':');
+            for (VehicleSize size : VehicleSize.values()) {
+                sb.append(' ').append(size).append('=').append(free(pos, size))
+                  .append('/').append(free(pos, size) + occupied(pos, size));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,273 @@
+package LLD.ParkingSystem.index;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Concurrent map from primitive long keys to values, without boxing the key.
+ *
+ * Keys are spread over SEGMENTS independent open-addressing tables (linear
+ * probing, backward-shift deletion, so no tombstones). Reads use an optimistic
+ * StampedLock read and only fall back to a read lock if a write raced them;
+ * writes lock one segment. Key 0 is reserved as the empty-slot marker.
+ */
+public final class ConcurrentLongMap<V> {
+    private static final int SEGMENTS = 16; // power of two
+    private static final int SEGMENT_SHIFT = 32 - Integer.numberOfTrailingZeros(SEGMENTS);
+
+    private final Segment<V>[] segments;
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLongMap()
+    {
+        this.segments = (Segment<V>[]) new Segment<?>[SEGMENTS];
+        for(int i=0;i<SEGMENTS;i++)
+        {
+            segments[i]=new Segment<>();
+        }
+    }
+
+    public V get(long key)
+    {
+        int hash=hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Returns the previous value, or null if the key was absent.
+     */
+    public V put(long key, V value)
+    {
+        int hash=hash(checkKey(key));
+        return segmentFor(hash).put(key, hash, value, false);
+    }
+
+    public V putIfAbsent(long key, V value)
+    {
+        int hash=hash(checkKey(key));
+        return segmentFor(hash).put(key, hash, value, true);
+    }
+
+    public V remove(long key)
+    {
+        int hash=hash(key);
+        return segmentFor(hash).remove(key, hash, null);
+    }
+
+    /**
+     * Removes the key only if it is currently mapped to value (compared by identity).
+     */
+    public boolean remove(long key, V value)
+    {
+        int hash=hash(key);
+        return segmentFor(hash).remove(key, hash, value)!=null;
+    }
+
+    public int size()
+    {
+        int size=0;
+        for(Segment<V> segment:segments)
+        {
+            size+=segment.size();
+        }
+        return size;
+    }
+
+    private Segment<V> segmentFor(int hash)
+    {
+        return segments[hash>>>SEGMENT_SHIFT];
+    }
+
+    private static long checkKey(long key)
+    {
+        if(key==0)
+        {
+            throw new IllegalArgumentException("key 0 is reserved");
+        }
+        return key;
+    }
+
+    // murmur3 finalizer: sequential ids must not land in the same segment/slot run
+    private static int hash(long key)
+    {
+        key^=key>>>33;
+        key*=0xff51afd7ed558ccdL;
+        key^=key>>>33;
+        key*=0xc4ceb9fe1a85ec53L;
+        key^=key>>>33;
+        return (int) key;
+    }
+
+    private static final class Table {
+        final long[] keys;
+        final Object[] values;
+
+        Table(int capacity)
+        {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+        }
+    }
+
+    private static final class Segment<V> {
+        private final StampedLock lock = new StampedLock();
+        private volatile Table table = new Table(16);
+        private int size; // guarded by lock
+
+        V get(long key, int hash)
+        {
+            long stamp=lock.tryOptimisticRead();
+            V value=find(table, key, hash);
+            if(lock.validate(stamp))
+            {
+                return value;
+            }
+            stamp=lock.readLock();
+            try
+            {
+                return find(table, key, hash);
+            }
+            finally
+            {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        int size()
+        {
+            long stamp=lock.readLock();
+            try
+            {
+                return size;
+            }
+            finally
+            {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        V put(long key, int hash, V value, boolean onlyIfAbsent)
+        {
+            long stamp=lock.writeLock();
+            try
+            {
+                Table t=table;
+                int mask=t.keys.length-1;
+                int i=hash&mask;
+                while(t.keys[i]!=0)
+                {
+                    if(t.keys[i]==key)
+                    {
+                        V previous=cast(t.values[i]);
+                        if(!onlyIfAbsent)
+                        {
+                            t.values[i]=value;
+                        }
+                        return previous;
+                    }
+                    i=(i+1)&mask;
+                }
+                t.keys[i]=key;
+                t.values[i]=value;
+                if(++size*2>t.keys.length)
+                {
+                    resize(t);
+                }
+                return null;
+            }
+            finally
+            {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        // expected == null removes unconditionally
+        V remove(long key, int hash, V expected)
+        {
+            long stamp=lock.writeLock();
+            try
+            {
+                Table t=table;
+                int mask=t.keys.length-1;
+                int i=hash&mask;
+                while(t.keys[i]!=key)
+                {
+                    if(t.keys[i]==0)
+                    {
+                        return null;
+                    }
+                    i=(i+1)&mask;
+                }
+                V previous=cast(t.values[i]);
+                if(expected!=null && previous!=expected)
+                {
+                    return null;
+                }
+                // backward shift: pull later entries of the probe run into the hole
+                for(int j=(i+1)&mask; t.keys[j]!=0; j=(j+1)&mask)
+                {
+                    int home=hash(t.keys[j])&mask;
+                    boolean homeInHoleToJ=i<=j ? (home>i && home<=j) : (home>i || home<=j);
+                    if(!homeInHoleToJ)
+                    {
+                        t.keys[i]=t.keys[j];
+                        t.values[i]=t.values[j];
+                        i=j;
+                    }
+                }
+                t.keys[i]=0;
+                t.values[i]=null;
+                size--;
+                return previous;
+            }
+            finally
+            {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void resize(Table old)
+        {
+            Table t=new Table(old.keys.length*2);
+            int mask=t.keys.length-1;
+            for(int k=0;k<old.keys.length;k++)
+            {
+                if(old.keys[k]!=0)
+                {
+                    int i=hash(old.keys[k])&mask;
+                    while(t.keys[i]!=0)
+                    {
+                        i=(i+1)&mask;
+                    }
+                    t.keys[i]=old.keys[k];
+                    t.values[i]=old.values[k];
+                }
+            }
+            table=t;
+        }
+
+        // bounded by the table length: an optimistic read may see a table mid-update
+        private static <V> V find(Table t, long key, int hash)
+        {
+            int mask=t.keys.length-1;
+            for(int i=hash&mask, probes=0; probes<=mask; i=(i+1)&mask, probes++)
+            {
+                long k=t.keys[i];
+                if(k==key)
+                {
+                    return cast(t.values[i]);
+                }
+                if(k==0)
+                {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> V cast(Object value)
+        {
+            return (V) value;
+        }
+    }
+}
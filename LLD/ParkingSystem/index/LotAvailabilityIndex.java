@@ -0,0 +1,218 @@
+package LLD.ParkingSystem.index;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingFloor;
+
+/**
+ * Lot-wide index of free spots per floor and size, so parking strategies can go
+ * straight to a floor with capacity instead of probing every floor.
+ *
+ * Per VehicleSize it keeps a Fenwick (binary indexed) tree over floor positions
+ * (the order floors were added to the lot). Floors push +1/-1 deltas through
+ * SpotAvailabilityListener, and each delta is an O(log F) atomic update.
+ * Queries such as "first floor with a free MEDIUM spot" are O(log F) descents.
+ *
+ * Counts are updated right after a spot changes hands, so under concurrency a
+ * query can be briefly stale; strategies treat the answer as a hint and move on
+ * to the next floor if the claim there fails. A floor's count can even dip below
+ * zero for a moment (a release callback overtaking its claim's), so the trees hold
+ * each floor's count clamped at zero, and a query the trees answer with "none"
+ * is re-checked by a scan of the per-floor counts: a free spot is never reported
+ * missing because of a transient sum.
+ *
+ * Lot-wide free totals per size are kept in LongAdders next to the trees, so
+ * signage can read them in O(1).
+ *
+ * Floors must be registered before traffic starts: addFloor rebuilds the trees.
+ */
+public class LotAvailabilityIndex {
+    private final List<ParkingFloor> floors = new ArrayList<>();
+    private volatile Map<VehicleSize, AtomicLongArray> trees = emptyTrees(0);
+    // per size, free spots by floor position, unclamped
+    private volatile Map<VehicleSize, AtomicLongArray> counts = emptyCounts(0);
+    private final LongAdder[] totals = newTotals();
+
+    public synchronized void addFloor(ParkingFloor floor)
+    {
+        int position = floors.size();
+        floors.add(floor);
+        Map<VehicleSize, AtomicLongArray> rebuilt = emptyTrees(floors.size());
+        Map<VehicleSize, AtomicLongArray> rebuiltCounts = emptyCounts(floors.size());
+        for (int i = 0; i < floors.size(); i++) {
+            for (VehicleSize size : VehicleSize.values()) {
+                long free = floors.get(i).getAvailableSpots(size);
+                rebuiltCounts.get(size).set(i, free);
+                add(rebuilt.get(size), i, Math.max(free, 0));
+            }
+        }
+        trees = rebuilt;
+        counts = rebuiltCounts;
+        for (VehicleSize size : VehicleSize.values()) {
+            totals[size.ordinal()].add(floor.getAvailableSpots(size));
+        }
+        floor.addListener((f, size, delta) -> {
+            long after = counts.get(size).addAndGet(position, delta);
+            // the tree changes only by what the clamped count changed; the deltas
+            // telescope, so the tree ends at max(count, 0) whatever the interleaving
+            long treeDelta = Math.max(after, 0) - Math.max(after - delta, 0);
+            if (treeDelta != 0) {
+                add(trees.get(size), position, treeDelta);
+            }
+            totals[size.ordinal()].add(delta);
+        });
+    }
+
+    public int floorCount()
+    {
+        return floors.size();
+    }
+
+    /**
+     * Free spots of this size across the whole lot.
+     */
+    public long totalAvailable(VehicleSize size)
+    {
+        return totals[size.ordinal()].sum();
+    }
+
+    /**
+     * Free spots of every size across the whole lot.
+     */
+    public long totalAvailable()
+    {
+        long sum = 0;
+        for (LongAdder total : totals) {
+            sum += total.sum();
+        }
+        return sum;
+    }
+
+    /**
+     * Lowest floor position with a free spot of this size, or -1.
+     */
+    public int firstFloorWithSpace(VehicleSize size)
+    {
+        return nextFloorWithSpace(size, -1);
+    }
+
+    /**
+     * Lowest floor position after the given one with a free spot, or -1.
+     */
+    public int nextFloorWithSpace(VehicleSize size, int afterPosition)
+    {
+        AtomicLongArray tree = trees.get(size);
+        int position = lowerBound(tree, prefixSum(tree, afterPosition + 1) + 1);
+        return position >= 0 ? position : scanForward(size, afterPosition + 1);
+    }
+
+    /**
+     * Highest floor position with a free spot of this size, or -1.
+     */
+    public int lastFloorWithSpace(VehicleSize size)
+    {
+        AtomicLongArray tree = trees.get(size);
+        return previousFloorWithSpace(size, tree.length() - 1);
+    }
+
+    /**
+     * Highest floor position before the given one with a free spot, or -1.
+     */
+    public int previousFloorWithSpace(VehicleSize size, int beforePosition)
+    {
+        AtomicLongArray tree = trees.get(size);
+        long before = prefixSum(tree, Math.min(beforePosition, tree.length() - 1));
+        int position = before <= 0 ? -1 : lowerBound(tree, before);
+        return position >= 0 ? position : scanBackward(size, beforePosition - 1);
+    }
+
+    // fallbacks for when the tree reports none: O(F), and only reached when the lot
+    // is (nearly) full for this size or a count was transiently negative
+    private int scanForward(VehicleSize size, int fromPosition)
+    {
+        AtomicLongArray free = counts.get(size);
+        for (int p = Math.max(fromPosition, 0); p < free.length(); p++) {
+            if (free.get(p) > 0) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    private int scanBackward(VehicleSize size, int fromPosition)
+    {
+        AtomicLongArray free = counts.get(size);
+        for (int p = Math.min(fromPosition, free.length() - 1); p >= 0; p--) {
+            if (free.get(p) > 0) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    // tree is 1-based: position p lives at index p + 1
+    private static void add(AtomicLongArray tree, int position, long delta)
+    {
+        for (int i = position + 1; i < tree.length(); i += i & -i) {
+            tree.getAndAdd(i, delta);
+        }
+    }
+
+    // sum of positions [0, count)
+    private static long prefixSum(AtomicLongArray tree, int count)
+    {
+        long sum = 0;
+        for (int i = Math.min(count, tree.length() - 1); i > 0; i -= i & -i) {
+            sum += tree.get(i);
+        }
+        return sum;
+    }
+
+    // smallest position whose prefix sum (inclusive) reaches target, or -1
+    private static int lowerBound(AtomicLongArray tree, long target)
+    {
+        int n = tree.length() - 1;
+        if (target <= 0 || n == 0) {
+            return -1;
+        }
+        int index = 0;
+        long remaining = target;
+        for (int step = Integer.highestOneBit(n); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= n && tree.get(next) < remaining) {
+                index = next;
+                remaining -= tree.get(next);
+            }
+        }
+        return index < n ? index : -1;
+    }
+
+    private static LongAdder[] newTotals()
+    {
+        LongAdder[] totals = new LongAdder[VehicleSize.values().length];
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = new LongAdder();
+        }
+        return totals;
+    }
+
+    private static Map<VehicleSize, AtomicLongArray> emptyTrees(int floorCount)
+    {
+        return emptyCounts(floorCount + 1);
+    }
+
+    private static Map<VehicleSize, AtomicLongArray> emptyCounts(int length)
+    {
+        Map<VehicleSize, AtomicLongArray> arrays = new EnumMap<>(VehicleSize.class);
+        for (VehicleSize size : VehicleSize.values()) {
+            arrays.put(size, new AtomicLongArray(length));
+        }
+        return arrays;
+    }
+}
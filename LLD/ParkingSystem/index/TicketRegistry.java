@@ -0,0 +1,82 @@
+package LLD.ParkingSystem.index;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import LLD.ParkingSystem.entities.ParkingTicket;
+
+/**
+ * Active tickets, indexed both by ticket id and by license plate.
+ *
+ * The id map is the source of truth: a ticket is active while byId holds it, and
+ * removing it from byId is what decides which of two concurrent exits (by id and
+ * by plate) wins. The plate index allows one active ticket per plate.
+ */
+public final class TicketRegistry {
+    private final ConcurrentLongMap<ParkingTicket> byId = new ConcurrentLongMap<>();
+    private final Map<String, ParkingTicket> byPlate = new ConcurrentHashMap<>();
+
+    /**
+     * Returns false (and registers nothing) if the vehicle already holds an active ticket.
+     */
+    public boolean register(ParkingTicket ticket)
+    {
+        if(byPlate.putIfAbsent(ticket.getVehicle().getLicensePlate(), ticket)!=null)
+        {
+            return false;
+        }
+        byId.put(ticket.getTicketId(), ticket);
+        return true;
+    }
+
+    public boolean isParked(String licensePlate)
+    {
+        return byPlate.containsKey(licensePlate);
+    }
+
+    public ParkingTicket get(long ticketId)
+    {
+        return byId.get(ticketId);
+    }
+
+    public ParkingTicket getByPlate(String licensePlate)
+    {
+        return byPlate.get(licensePlate);
+    }
+
+    public ParkingTicket removeById(long ticketId)
+    {
+        ParkingTicket ticket=byId.remove(ticketId);
+        if(ticket!=null)
+        {
+            byPlate.remove(ticket.getVehicle().getLicensePlate(), ticket);
+        }
+        return ticket;
+    }
+
+    public ParkingTicket removeByPlate(String licensePlate)
+    {
+        ParkingTicket ticket=byPlate.get(licensePlate);
+        if(ticket==null || !byId.remove(ticket.getTicketId(), ticket))
+        {
+            return null;
+        }
+        byPlate.remove(licensePlate, ticket);
+        return ticket;
+    }
+
+    /**
+     * Weakly consistent view of the active tickets (for snapshots).
+     */
+    public Collection<ParkingTicket> tickets()
+    {
+        return Collections.unmodifiableCollection(byPlate.values());
+    }
+
+    public int size()
+    {
+        return byId.size();
+    }
+}
@@ -0,0 +1,405 @@
+package LLD.ParkingSystem.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingTicket;
+
+/**
+ * Append-only journal of park/unpark events, so open tickets survive a restart.
+ *
+ * Directory layout:
+ * - journal-<n>.log: segments, each a sequence of records
+ *   [int length][int crc32][payload], payload = PARK fields or UNPARK ticketId
+ * - snapshot.bin: MAGIC, first segment to replay, open tickets, END
+ *
+ * Group commit: gates append records to an in-memory buffer and then wait in
+ * sync(). The first waiter becomes the leader and writes and fsyncs everything
+ * buffered so far; gates that append meanwhile are covered by the next leader's
+ * single fsync, so under load one fsync serves many vehicles.
+ *
+ * Snapshots rotate to a new segment first, then write the open tickets; replay
+ * starts at that segment. PARK replay is idempotent and UNPARK of an unknown
+ * ticket is ignored, so tickets changing while the snapshot is written are safe.
+ * Older segments are deleted once the snapshot is atomically in place and the
+ * rename has been made durable by forcing the directory; new segments force the
+ * directory too, so a crash never keeps a delete without the rename, or records
+ * in a file whose directory entry was lost.
+ */
+public class TicketJournal implements AutoCloseable {
+    private static final byte PARK = 1;
+    private static final byte UNPARK = 2;
+    private static final byte END = 0;
+    private static final int SNAPSHOT_MAGIC = 0x504B534E; // "PKSN"
+    private static final String SNAPSHOT = "snapshot.bin";
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path dir;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    private final ScheduledExecutorService scheduler;
+    // all guarded by lock
+    private FileChannel channel;
+    private long segment;
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocate(BUFFER_SIZE);
+    private long appendedSeq;
+    private long durableSeq;
+    private boolean flushing;
+    private IOException failure;
+
+    /**
+     * Opens a fresh segment after any existing ones. Call recover(dir) first:
+     * this does not read the directory's contents.
+     */
+    public TicketJournal(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+        List<Long> segments = segments(dir);
+        this.segment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1) + 1;
+        this.channel = openSegment(segment);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ticket-journal-snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public long logPark(ParkingTicket ticket) {
+        TicketRecord record = TicketRecord.of(ticket);
+        byte[] spotId = record.getSpotId().getBytes(StandardCharsets.UTF_8);
+        byte[] plate = record.getLicensePlate().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(1 + 8 + 8 + 4 + 2 + spotId.length + 1 + 2 + plate.length);
+        payload.put(PARK);
+        writeTicket(payload, record, spotId, plate);
+        return append(payload.array());
+    }
+
+    public long logUnpark(long ticketId) {
+        ByteBuffer payload = ByteBuffer.allocate(1 + 8);
+        payload.put(UNPARK).putLong(ticketId);
+        return append(payload.array());
+    }
+
+    /**
+     * Blocks until every record appended so far (by any gate) is on disk.
+     */
+    public void sync() {
+        lock.lock();
+        try {
+            awaitDurable(appendedSeq);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Snapshots the tickets from openTickets every period, on a daemon thread. A
+     * failed snapshot is passed to onFailure and retried at the next period; the
+     * segments it would have replaced are kept meanwhile.
+     */
+    public void snapshotEvery(long period, TimeUnit unit, Supplier<? extends Iterable<ParkingTicket>> openTickets,
+            Consumer<IOException> onFailure) {
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot(openTickets.get());
+            } catch (IOException e) {
+                onFailure.accept(e);
+            } catch (UncheckedIOException e) {
+                onFailure.accept(e.getCause());
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Writes openTickets as the new snapshot and drops the segments it replaces.
+     * The iterable is read after the segment rotation, so it may be weakly consistent.
+     */
+    public void snapshot(Iterable<ParkingTicket> openTickets) throws IOException {
+        long firstSegment = rotate();
+        Path tmp = dir.resolve(SNAPSHOT + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, BUFFER_SIZE))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(firstSegment);
+            for (ParkingTicket ticket : openTickets) {
+                TicketRecord record = TicketRecord.of(ticket);
+                out.writeByte(PARK);
+                out.writeLong(record.getTicketId());
+                out.writeLong(record.getEntryTime());
+                out.writeInt(record.getFloorNumber());
+                out.writeUTF(record.getSpotId());
+                out.writeByte(record.getVehicleSize().ordinal());
+                out.writeUTF(record.getLicensePlate());
+            }
+            out.writeByte(END);
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(tmp, dir.resolve(SNAPSHOT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(dir);
+        for (long old : segments(dir)) {
+            if (old < firstSegment) {
+                Files.deleteIfExists(segmentPath(dir, old));
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the open tickets from the last snapshot plus the segments after it.
+     * A torn or corrupt record ends its segment (it was being written at the crash).
+     */
+    public static List<TicketRecord> recover(Path dir) throws IOException {
+        Map<Long, TicketRecord> open = new HashMap<>();
+        long firstSegment = 0;
+        Path snapshot = dir.resolve(SNAPSHOT);
+        if (Files.exists(snapshot)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot), BUFFER_SIZE))) {
+                if (in.readInt() != SNAPSHOT_MAGIC) {
+                    throw new IOException("Not a ticket snapshot: " + snapshot);
+                }
+                firstSegment = in.readLong();
+                while (in.readByte() == PARK) {
+                    TicketRecord record = new TicketRecord(in.readLong(), in.readLong(), in.readInt(), in.readUTF(),
+                            VehicleSize.values()[in.readByte()], in.readUTF());
+                    open.put(record.getTicketId(), record);
+                }
+            }
+        }
+        if (Files.isDirectory(dir)) {
+            for (long segment : segments(dir)) {
+                if (segment >= firstSegment) {
+                    replaySegment(segmentPath(dir, segment), open);
+                }
+            }
+        }
+        return new ArrayList<>(open.values());
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        lock.lock();
+        try {
+            while (flushing) {
+                flushed.awaitUninterruptibly();
+            }
+            writePending();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long append(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        lock.lock();
+        try {
+            checkFailure();
+            if (pending.remaining() < payload.length + 8) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + payload.length + 8));
+                pending.flip();
+                grown.put(pending);
+                pending = grown;
+            }
+            pending.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+            return ++appendedSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // caller holds lock; may release it while this thread is the flushing leader
+    private void awaitDurable(long seq) {
+        while (durableSeq < seq) {
+            checkFailure();
+            if (flushing) {
+                flushed.awaitUninterruptibly();
+                continue;
+            }
+            flushing = true;
+            ByteBuffer batch = pending;
+            pending = spare;
+            long target = appendedSeq;
+            FileChannel out = channel;
+            lock.unlock();
+            IOException error = null;
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    out.write(batch);
+                }
+                out.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+            lock.lock();
+            batch.clear();
+            spare = batch;
+            flushing = false;
+            if (error != null) {
+                failure = error;
+            } else {
+                durableSeq = target;
+            }
+            flushed.signalAll();
+        }
+    }
+
+    // starts a new segment and returns its number; earlier records are all durable
+    private long rotate() throws IOException {
+        lock.lock();
+        try {
+            while (flushing) {
+                flushed.awaitUninterruptibly();
+            }
+            checkFailure();
+            writePending();
+            channel.close();
+            channel = openSegment(++segment);
+            return segment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // caller holds lock and no leader is flushing
+    private void writePending() throws IOException {
+        pending.flip();
+        while (pending.hasRemaining()) {
+            channel.write(pending);
+        }
+        pending.clear();
+        channel.force(false);
+        durableSeq = appendedSeq;
+        flushed.signalAll();
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new UncheckedIOException("Ticket journal write failed", failure);
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        FileChannel segment = FileChannel.open(segmentPath(dir, number), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        forceDirectory(dir);
+        return segment;
+    }
+
+    /**
+     * Makes a create or rename in dir durable. Some platforms (Windows) cannot open
+     * a directory for fsync; there it is as durable as the OS makes it.
+     */
+    private static void forceDirectory(Path dir) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(dir, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    private static void writeTicket(ByteBuffer payload, TicketRecord record, byte[] spotId, byte[] plate) {
+        payload.putLong(record.getTicketId())
+                .putLong(record.getEntryTime())
+                .putInt(record.getFloorNumber())
+                .putShort((short) spotId.length).put(spotId)
+                .put((byte) record.getVehicleSize().ordinal())
+                .putShort((short) plate.length).put(plate);
+    }
+
+    private static void replaySegment(Path path, Map<Long, TicketRecord> open) throws IOException {
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, BUFFER_SIZE))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] payload;
+                int expectedCrc;
+                try {
+                    int length = in.readInt();
+                    expectedCrc = in.readInt();
+                    if (length <= 0 || length > BUFFER_SIZE) {
+                        return;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    return;
+                }
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != expectedCrc) {
+                    return;
+                }
+                ByteBuffer record = ByteBuffer.wrap(payload);
+                if (record.get() == PARK) {
+                    long ticketId = record.getLong();
+                    long entryTime = record.getLong();
+                    int floorNumber = record.getInt();
+                    String spotId = readString(record);
+                    VehicleSize size = VehicleSize.values()[record.get()];
+                    String plate = readString(record);
+                    open.putIfAbsent(ticketId, new TicketRecord(ticketId, entryTime, floorNumber, spotId, size, plate));
+                } else {
+                    open.remove(record.getLong());
+                }
+            }
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Path segmentPath(Path dir, long number) {
+        return dir.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private static List<Long> segments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Long> numbers = new ArrayList<>();
+            files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .forEach(name -> numbers.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))));
+            numbers.sort(null);
+            return numbers;
+        }
+    }
+}
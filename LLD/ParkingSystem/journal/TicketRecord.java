@@ -0,0 +1,84 @@
+package LLD.ParkingSystem.journal;
+
+import LLD.ParkingSystem.Vehicle.Bike;
+import LLD.ParkingSystem.Vehicle.Car;
+import LLD.ParkingSystem.Vehicle.Truck;
+import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingTicket;
+
+/**
+ * An open ticket as persisted in the journal and snapshots: enough to re-claim
+ * its spot and rebuild the ParkingTicket after a restart.
+ */
+public final class TicketRecord {
+    private final long ticketId;
+    private final long entryTime;
+    private final int floorNumber;
+    private final String spotId;
+    private final VehicleSize vehicleSize;
+    private final String licensePlate;
+
+    public TicketRecord(long ticketId, long entryTime, int floorNumber, String spotId, VehicleSize vehicleSize, String licensePlate)
+    {
+        this.ticketId = ticketId;
+        this.entryTime = entryTime;
+        this.floorNumber = floorNumber;
+        this.spotId = spotId;
+        this.vehicleSize = vehicleSize;
+        this.licensePlate = licensePlate;
+    }
+
+    static TicketRecord of(ParkingTicket ticket)
+    {
+        return new TicketRecord(ticket.getTicketId(), ticket.getEntryTime(), ticket.getSpot().getFloor().getFloorNumber(),
+                ticket.getSpot().getSpotId(), ticket.getVehicle().getSize(), ticket.getVehicle().getLicensePlate());
+    }
+
+    public long getTicketId()
+    {
+        return ticketId;
+    }
+
+    public long getEntryTime()
+    {
+        return entryTime;
+    }
+
+    public int getFloorNumber()
+    {
+        return floorNumber;
+    }
+
+    public String getSpotId()
+    {
+        return spotId;
+    }
+
+    public String getLicensePlate()
+    {
+        return licensePlate;
+    }
+
+    /**
+     * Each VehicleSize has exactly one Vehicle subclass, so the size is enough to
+     * rebuild the vehicle.
+     */
+    public Vehicle toVehicle()
+    {
+        switch(vehicleSize)
+        {
+            case SMALL:
+                return new Bike(licensePlate);
+            case MEDIUM:
+                return new Car(licensePlate);
+            default:
+                return new Truck(licensePlate);
+        }
+    }
+
+    VehicleSize getVehicleSize()
+    {
+        return vehicleSize;
+    }
+}
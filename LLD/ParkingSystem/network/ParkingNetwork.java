@@ -0,0 +1,378 @@
+package LLD.ParkingSystem.network;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import LLD.ParkingSystem.ParkingLot;
+import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingTicket;
+import LLD.ParkingSystem.entities.TicketIdGenerator;
+import LLD.ParkingSystem.index.AvailabilitySnapshot;
+import LLD.ParkingSystem.index.ConcurrentLongMap;
+
+/**
+ * Many independent ParkingLots (one per site, e.g. the garages of a city) behind
+ * one router.
+ *
+ * Sites share nothing: each lot has its own floors, counters, ticket registry and
+ * locks, and its park/unpark calls run on the site's own executor, so a busy site
+ * never queues behind another one and throughput grows with the number of sites.
+ * Each site's lot owns a block of threadsPerSite gate numbers for its ticket ids
+ * (one per executor thread), so an exit is routed to the issuing site from the
+ * id's gate bits alone.
+ *
+ * Routing reads a cached summary per site (free spots per VehicleSize) instead of
+ * asking every lot. The summary is overwritten by each lot's occupancyUpdates()
+ * snapshots and nudged by the network's own parks and exits in between, so it is a
+ * hint: a site that turns out to be full just passes the vehicle on. A vehicle that
+ * does not fit at its site overflows to the nearest sites that still show space,
+ * at most maxRedirects of them.
+ *
+ * Plates are tracked across the network so one vehicle cannot hold tickets at two
+ * sites. Calls made on a site's lot directly bypass that tracking and the summary
+ * nudges (the next snapshot corrects the counts).
+ */
+public final class ParkingNetwork implements AutoCloseable {
+    // ticketByPlate value while a park is in flight; real ids are never 0
+    private static final long PENDING = 0L;
+
+    private final int threadsPerSite;
+    private final int maxRedirects;
+    private final Map<String, Site> sitesById = new ConcurrentHashMap<>();
+    // indexed by site number (= ticket gate / threadsPerSite); replaced as a whole by addSite
+    private volatile Site[] sites = new Site[0];
+    private final Map<String, Long> ticketByPlate = new ConcurrentHashMap<>();
+    private final ConcurrentLongMap<String> plateByTicket = new ConcurrentLongMap<>();
+    private final LongAdder redirects = new LongAdder();
+    private final LongAdder turnedAway = new LongAdder();
+
+    /**
+     * @param threadsPerSite park/unpark threads per site
+     * @param maxRedirects   other sites tried before a vehicle is turned away
+     */
+    public ParkingNetwork(int threadsPerSite, int maxRedirects) {
+        if (threadsPerSite < 1 || maxRedirects < 0) {
+            throw new IllegalArgumentException("threadsPerSite must be positive and maxRedirects non-negative");
+        }
+        this.threadsPerSite = threadsPerSite;
+        this.maxRedirects = maxRedirects;
+    }
+
+    /**
+     * Adds a site at (x, y) (any planar unit, e.g. km on a city grid) and returns its
+     * new, empty lot for floors and strategies to be added to.
+     */
+    public synchronized ParkingLot addSite(String siteId, double x, double y) {
+        if (sitesById.containsKey(siteId)) {
+            throw new IllegalArgumentException("Duplicate site " + siteId);
+        }
+        int number = sites.length;
+        int maxSites = (TicketIdGenerator.MAX_GATE + 1) / threadsPerSite;
+        if (number >= maxSites) {
+            throw new IllegalStateException("At most " + maxSites + " sites with " + threadsPerSite + " threads each");
+        }
+        Site site = new Site(siteId, x, y, ParkingLot.newInstance(number * threadsPerSite, threadsPerSite), threadsPerSite);
+        Site[] grown = Arrays.copyOf(sites, number + 1);
+        grown[number] = site;
+        for (Site s : grown) {
+            s.neighbours = byDistance(grown, s.x, s.y, s);
+        }
+        sitesById.put(siteId, site);
+        sites = grown;
+        site.lot.occupancyUpdates().subscribe(site);
+        return site.lot;
+    }
+
+    public ParkingLot lot(String siteId) {
+        return site(siteId).lot;
+    }
+
+    public List<String> siteIds() {
+        List<String> ids = new ArrayList<>();
+        for (Site site : sites) {
+            ids.add(site.id);
+        }
+        return ids;
+    }
+
+    /**
+     * Site that issued ticketId, or null if it was not issued in this network.
+     */
+    public String siteOf(long ticketId) {
+        Site site = siteByTicket(ticketId);
+        return site == null ? null : site.id;
+    }
+
+    /**
+     * Parks a vehicle that has not picked a site yet (e.g. an app request from
+     * (x, y)): the nearest site whose summary shows space, overflowing to that
+     * site's neighbours. Empty if every site tried was full or the plate is parked.
+     */
+    public CompletableFuture<Optional<ParkingTicket>> park(Vehicle vehicle, double x, double y) {
+        Site[] all = sites;
+        if (all.length == 0) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        int size = vehicle.getSize().ordinal();
+        Site nearest = null;
+        Site nearestWithSpace = null;
+        double best = Double.POSITIVE_INFINITY;
+        double bestWithSpace = Double.POSITIVE_INFINITY;
+        for (Site site : all) {
+            double distance = site.distanceSquared(x, y);
+            if (distance < best) {
+                best = distance;
+                nearest = site;
+            }
+            if (distance < bestWithSpace && site.free.get(size) > 0) {
+                bestWithSpace = distance;
+                nearestWithSpace = site;
+            }
+        }
+        // with every summary at zero, still try the nearest: the summaries may be stale
+        return parkAt(nearestWithSpace != null ? nearestWithSpace : nearest, vehicle, nearestWithSpace == null);
+    }
+
+    /**
+     * Parks a vehicle that has arrived at siteId, redirecting it to the nearest
+     * sites with space if that one is full.
+     */
+    public CompletableFuture<Optional<ParkingTicket>> parkAt(String siteId, Vehicle vehicle) {
+        return parkAt(site(siteId), vehicle, true);
+    }
+
+    private CompletableFuture<Optional<ParkingTicket>> parkAt(Site first, Vehicle vehicle, boolean alwaysTryFirst) {
+        String plate = vehicle.getLicensePlate();
+        if (ticketByPlate.putIfAbsent(plate, PENDING) != null) {
+            // parked (or being parked) somewhere in the network
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return attempt(first, -1, maxRedirects, vehicle, alwaysTryFirst).whenComplete((ticket, error) -> {
+            if (ticket != null && ticket.isPresent()) {
+                plateByTicket.put(ticket.get().getTicketId(), plate);
+                ticketByPlate.put(plate, ticket.get().getTicketId());
+            } else {
+                ticketByPlate.remove(plate, PENDING);
+                turnedAway.increment();
+            }
+        });
+    }
+
+    // tries first (next < 0) or first's neighbours from position next on, skipping
+    // those whose summary shows no space; each site tried runs the park on its own executor
+    private CompletableFuture<Optional<ParkingTicket>> attempt(Site first, int next, int redirectsLeft,
+                                                              Vehicle vehicle, boolean force) {
+        int size = vehicle.getSize().ordinal();
+        Site site = first;
+        if (next >= 0) {
+            Site[] neighbours = first.neighbours;
+            while (next < neighbours.length && neighbours[next].free.get(size) <= 0) {
+                next++;
+            }
+            if (next == neighbours.length || redirectsLeft == 0) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+            site = neighbours[next];
+        } else if (!force && site.free.get(size) <= 0) {
+            return attempt(first, 0, redirectsLeft, vehicle, false);
+        }
+        Site target = site;
+        int following = next + 1;
+        int left = target == first ? redirectsLeft : redirectsLeft - 1;
+        return CompletableFuture.supplyAsync(() -> target.park(vehicle), target.executor)
+                .thenCompose(ticket -> {
+                    if (ticket.isPresent()) {
+                        if (target != first) {
+                            redirects.increment();
+                        }
+                        return CompletableFuture.completedFuture(ticket);
+                    }
+                    return attempt(first, following, left, vehicle, false);
+                });
+    }
+
+    /**
+     * Exit by ticket id, on the site that issued it. Empty if the ticket is unknown.
+     */
+    public CompletableFuture<Optional<Double>> unpark(long ticketId) {
+        Site site = siteByTicket(ticketId);
+        if (site == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return CompletableFuture.supplyAsync(() -> site.unpark(ticketId), site.executor)
+                .whenComplete((fee, error) -> {
+                    if (fee != null && fee.isPresent()) {
+                        String plate = plateByTicket.remove(ticketId);
+                        if (plate != null) {
+                            ticketByPlate.remove(plate, ticketId);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Exit by plate, wherever in the network the vehicle is parked.
+     */
+    public CompletableFuture<Optional<Double>> unpark(String licensePlate) {
+        Long ticketId = ticketByPlate.get(licensePlate);
+        if (ticketId == null || ticketId == PENDING) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return unpark(ticketId.longValue());
+    }
+
+    /**
+     * Free spots of size at siteId as last seen by the router.
+     */
+    public long cachedAvailable(String siteId, VehicleSize size) {
+        return site(siteId).free.get(size.ordinal());
+    }
+
+    /**
+     * Re-reads every site's summary from its lot counters, e.g. after floors were
+     * added and before the first snapshots arrive.
+     */
+    public void refreshSummaries() {
+        for (Site site : sites) {
+            site.refresh();
+        }
+    }
+
+    /**
+     * Vehicles parked at a site other than the one they arrived at (or were first
+     * routed to).
+     */
+    public long redirectCount() {
+        return redirects.sum();
+    }
+
+    /**
+     * Vehicles turned away because every site tried was full.
+     */
+    public long turnedAwayCount() {
+        return turnedAway.sum();
+    }
+
+    /**
+     * Stops the site executors; lots and their tickets stay readable.
+     */
+    @Override
+    public synchronized void close() {
+        for (Site site : sites) {
+            site.executor.shutdown();
+        }
+    }
+
+    private Site site(String siteId) {
+        Site site = sitesById.get(siteId);
+        if (site == null) {
+            throw new IllegalArgumentException("Unknown site " + siteId);
+        }
+        return site;
+    }
+
+    private Site siteByTicket(long ticketId) {
+        int number = TicketIdGenerator.gateOf(ticketId) / threadsPerSite;
+        Site[] all = sites;
+        return number < all.length ? all[number] : null;
+    }
+
+    private static Site[] byDistance(Site[] sites, double x, double y, Site exclude) {
+        return Arrays.stream(sites)
+                .filter(site -> site != exclude)
+                .sorted(Comparator.comparingDouble(site -> site.distanceSquared(x, y)))
+                .toArray(Site[]::new);
+    }
+
+    private static final class Site implements Flow.Subscriber<AvailabilitySnapshot> {
+        final String id;
+        final double x;
+        final double y;
+        final ParkingLot lot;
+        final ExecutorService executor;
+        // cached free spots per VehicleSize ordinal
+        final AtomicLongArray free = new AtomicLongArray(VehicleSize.values().length);
+        // other sites, nearest first; replaced when a site is added
+        volatile Site[] neighbours = new Site[0];
+
+        Site(String id, double x, double y, ParkingLot lot, int threads) {
+            this.id = id;
+            this.x = x;
+            this.y = y;
+            this.lot = lot;
+            AtomicInteger thread = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(threads, task -> {
+                Thread t = new Thread(task, "site-" + id + "-" + thread.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        double distanceSquared(double px, double py) {
+            double dx = x - px;
+            double dy = y - py;
+            return dx * dx + dy * dy;
+        }
+
+        Optional<ParkingTicket> park(Vehicle vehicle) {
+            Optional<ParkingTicket> ticket = lot.parkVehicle(vehicle);
+            int size = vehicle.getSize().ordinal();
+            if (ticket.isPresent()) {
+                free.decrementAndGet(size);
+            } else {
+                // the summary was wrong; take the lot's word for it until the next snapshot
+                free.set(size, lot.totalAvailable(vehicle.getSize()));
+            }
+            return ticket;
+        }
+
+        Optional<Double> unpark(long ticketId) {
+            Optional<Double> fee = lot.unparkVehicle(ticketId);
+            if (fee.isPresent()) {
+                // the spot may have gone to a waiter or a reservation; the next snapshot says
+                refresh();
+            }
+            return fee;
+        }
+
+        void refresh() {
+            for (VehicleSize size : VehicleSize.values()) {
+                free.set(size.ordinal(), lot.totalAvailable(size));
+            }
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(AvailabilitySnapshot snapshot) {
+            for (VehicleSize size : VehicleSize.values()) {
+                free.set(size.ordinal(), snapshot.totalFree(size));
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // keep the last summary; parks and exits still refresh it
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package LLD.ParkingSystem.network;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import LLD.ParkingSystem.ParkingLot;
+import LLD.ParkingSystem.Vehicle.Bike;
+import LLD.ParkingSystem.Vehicle.Car;
+import LLD.ParkingSystem.Vehicle.Truck;
+import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingFloor;
+import LLD.ParkingSystem.entities.ParkingSpot;
+import LLD.ParkingSystem.entities.ParkingTicket;
+import LLD.ParkingSystem.events.ParkingEventSink;
+
+/**
+ * A city of 60 garages on a 10 x 6 km grid. First a morning rush aimed at the four
+ * downtown garages, to show overflow to nearby sites; then park/exit throughput
+ * with the same total capacity split over 1 to 60 sites. args[0] is the run time
+ * per throughput point in milliseconds (default 500).
+ */
+public class ParkingNetworkDemo {
+    private static final int COLUMNS = 10;
+    private static final int ROWS = 6;
+    private static final int SPOTS_PER_SITE = 200;
+    private static final int[] SITE_COUNTS = {1, 4, 16, 60};
+
+    public static void main(String[] args) throws Exception {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 500;
+        rush();
+        System.out.println();
+        System.out.println("Park + exit throughput, " + COLUMNS * ROWS * SPOTS_PER_SITE + " spots in total, "
+                + Runtime.getRuntime().availableProcessors() + " CPUs");
+        throughput(SITE_COUNTS[SITE_COUNTS.length - 1], millis); // warm-up
+        for (int sites : SITE_COUNTS) {
+            System.out.printf("  %2d sites: %,10.0f ops/s%n", sites, throughput(sites, millis));
+        }
+    }
+
+    private static void rush() {
+        ParkingNetwork network = newNetwork(COLUMNS * ROWS, SPOTS_PER_SITE);
+        Random random = new Random(2026);
+        List<CompletableFuture<Optional<ParkingTicket>>> parks = new ArrayList<>();
+        int arrivals = COLUMNS * ROWS * SPOTS_PER_SITE * 3 / 4;
+        for (int i = 0; i < arrivals; i++) {
+            Vehicle vehicle = vehicle(i, random);
+            if (random.nextDouble() < 0.4) {
+                // downtown: the four central garages
+                String site = siteId(COLUMNS / 2 - random.nextInt(2), ROWS / 2 - random.nextInt(2));
+                parks.add(network.parkAt(site, vehicle));
+            } else {
+                parks.add(network.park(vehicle, random.nextDouble() * COLUMNS, random.nextDouble() * ROWS));
+            }
+        }
+        long parked = parks.stream().map(CompletableFuture::join).filter(Optional::isPresent).count();
+        System.out.printf("Morning rush: %,d arrivals (40%% downtown), %,d parked, %,d redirected, %,d turned away%n",
+                arrivals, parked, network.redirectCount(), network.turnedAwayCount());
+        System.out.println("Free MEDIUM spots per garage (of 140), downtown in the middle:");
+        int stale = 0;
+        for (int row = 0; row < ROWS; row++) {
+            StringBuilder line = new StringBuilder("  ");
+            for (int column = 0; column < COLUMNS; column++) {
+                String site = siteId(column, row);
+                long actual = network.lot(site).totalAvailable(VehicleSize.MEDIUM);
+                if (network.cachedAvailable(site, VehicleSize.MEDIUM) != actual) {
+                    stale++;
+                }
+                line.append(String.format("%5d", actual));
+            }
+            System.out.println(line);
+        }
+        System.out.println("Cached summaries differing from the lots: " + stale);
+
+        // half leave by ticket, half by plate
+        List<CompletableFuture<Optional<Double>>> exits = new ArrayList<>();
+        for (int i = 0; i < parks.size(); i++) {
+            Optional<ParkingTicket> ticket = parks.get(i).join();
+            if (ticket.isPresent()) {
+                exits.add(i % 2 == 0 ? network.unpark(ticket.get().getTicketId())
+                        : network.unpark(ticket.get().getVehicle().getLicensePlate()));
+            }
+        }
+        long settled = exits.stream().map(CompletableFuture::join).filter(Optional::isPresent).count();
+        long free = 0;
+        for (String site : network.siteIds()) {
+            free += network.lot(site).totalAvailable();
+        }
+        System.out.printf("Evening: %,d exits settled, %,d of %,d spots free again%n",
+                settled, free, COLUMNS * ROWS * SPOTS_PER_SITE);
+        network.close();
+    }
+
+    // vehicles park and leave again, with up to 64 requests in flight per site
+    private static double throughput(int siteCount, long millis) throws InterruptedException {
+        ParkingNetwork network = newNetwork(siteCount, COLUMNS * ROWS * SPOTS_PER_SITE / siteCount);
+        Semaphore inFlight = new Semaphore(64 * siteCount);
+        AtomicLong operations = new AtomicLong();
+        List<String> sites = network.siteIds();
+        Random random = new Random(7);
+        long end = System.nanoTime() + millis * 1_000_000;
+        long start = System.nanoTime();
+        int i = 0;
+        while (System.nanoTime() < end) {
+            inFlight.acquire();
+            String site = sites.get(random.nextInt(siteCount));
+            network.parkAt(site, vehicle(i++, random))
+                    .thenCompose(ticket -> ticket.isPresent()
+                            ? network.unpark(ticket.get().getTicketId())
+                            : CompletableFuture.completedFuture(Optional.empty()))
+                    .whenComplete((fee, error) -> {
+                        operations.addAndGet(2);
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(64 * siteCount);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        network.close();
+        return operations.get() / seconds;
+    }
+
+    private static ParkingNetwork newNetwork(int siteCount, int spotsPerSite) {
+        ParkingNetwork network = new ParkingNetwork(1, 8);
+        for (int s = 0; s < siteCount; s++) {
+            int column = siteCount == COLUMNS * ROWS ? s % COLUMNS : s;
+            int row = siteCount == COLUMNS * ROWS ? s / COLUMNS : 0;
+            ParkingLot lot = network.addSite(siteId(column, row), column, row);
+            lot.setEventSink(ParkingEventSink.NO_OP);
+            ParkingFloor floor = new ParkingFloor(1);
+            for (int i = 0; i < spotsPerSite; i++) {
+                VehicleSize size = i % 10 < 2 ? VehicleSize.SMALL : i % 10 < 9 ? VehicleSize.MEDIUM : VehicleSize.LARGE;
+                floor.addSpot(new ParkingSpot(String.format("%d-%d-%04d", column, row, i), size));
+            }
+            lot.addParkingFloor(floor);
+        }
+        network.refreshSummaries();
+        return network;
+    }
+
+    private static String siteId(int column, int row) {
+        return "G" + column + "-" + row;
+    }
+
+    private static Vehicle vehicle(int i, Random random) {
+        double kind = random.nextDouble();
+        String plate = "N-" + i;
+        return kind < 0.2 ? new Bike(plate) : kind < 0.9 ? new Car(plate) : new Truck(plate);
+    }
+}
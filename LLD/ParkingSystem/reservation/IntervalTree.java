@@ -0,0 +1,157 @@
+package LLD.ParkingSystem.reservation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Augmented interval tree over the reservations of one floor and size.
+ *
+ * A treap ordered by (from, reservationId), where every node also stores the
+ * largest `to` in its subtree. Insert and remove are O(log n) expected. Listing
+ * the k reservations that overlap a window is O((k + 1) log n), since subtrees
+ * whose largest end is before the window, or whose smallest start is after it,
+ * are skipped. Not thread-safe; ReservationBook locks around it.
+ */
+final class IntervalTree {
+    private Node root;
+    private int size;
+
+    private static final class Node {
+        final Reservation reservation;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node left;
+        Node right;
+        long maxTo;
+
+        Node(Reservation reservation) {
+            this.reservation = reservation;
+            this.maxTo = reservation.getTo();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void insert(Reservation reservation) {
+        root = insert(root, new Node(reservation));
+        size++;
+    }
+
+    void remove(Reservation reservation) {
+        int before = size;
+        root = remove(root, reservation);
+        if (size == before) {
+            throw new IllegalStateException("Not in tree: " + reservation);
+        }
+    }
+
+    /**
+     * Calls action for every reservation overlapping [from, to).
+     */
+    void overlapping(long from, long to, Consumer<Reservation> action) {
+        overlapping(root, from, to, action);
+    }
+
+    private static void overlapping(Node node, long from, long to, Consumer<Reservation> action) {
+        if (node == null || node.maxTo <= from) {
+            return;
+        }
+        overlapping(node.left, from, to, action);
+        if (node.reservation.getFrom() >= to) {
+            return; // this node and everything to its right start too late
+        }
+        if (node.reservation.overlaps(from, to)) {
+            action.accept(node.reservation);
+        }
+        overlapping(node.right, from, to, action);
+    }
+
+    private static int compare(Reservation a, Reservation b) {
+        int byFrom = Long.compare(a.getFrom(), b.getFrom());
+        return byFrom != 0 ? byFrom : Long.compare(a.getReservationId(), b.getReservationId());
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.reservation, node.reservation) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node remove(Node node, Reservation reservation) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(reservation, node.reservation);
+        if (cmp < 0) {
+            node.left = remove(node.left, reservation);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, reservation);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    // every key in left is smaller than every key in right
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        long maxTo = node.reservation.getTo();
+        if (node.left != null) {
+            maxTo = Math.max(maxTo, node.left.maxTo);
+        }
+        if (node.right != null) {
+            maxTo = Math.max(maxTo, node.right.maxTo);
+        }
+        node.maxTo = maxTo;
+    }
+}
@@ -0,0 +1,78 @@
+package LLD.ParkingSystem.reservation;
+
+import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.entities.ParkingFloor;
+import LLD.ParkingSystem.entities.ParkingSpot;
+
+/**
+ * A booking of one spot for [from, to) (epoch millis). The spot can change before
+ * the hold starts if a walk-in is still on it then; see ReservationBook.
+ * Mutable state is guarded by the owning ReservationBook.
+ */
+public final class Reservation {
+    private final long reservationId;
+    private final ParkingFloor floor;
+    private final Vehicle vehicle;
+    private final long from;
+    private final long to;
+    private volatile ParkingSpot spot;
+    private volatile ReservationStatus status = ReservationStatus.BOOKED;
+    // next time ReservationBook tries to hold the spot
+    long holdAt;
+
+    Reservation(long reservationId, ParkingFloor floor, ParkingSpot spot, Vehicle vehicle, long from, long to, long holdAt) {
+        this.reservationId = reservationId;
+        this.floor = floor;
+        this.spot = spot;
+        this.vehicle = vehicle;
+        this.from = from;
+        this.to = to;
+        this.holdAt = holdAt;
+    }
+
+    public long getReservationId() {
+        return reservationId;
+    }
+
+    public ParkingFloor getFloor() {
+        return floor;
+    }
+
+    public ParkingSpot getSpot() {
+        return spot;
+    }
+
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    public long getFrom() {
+        return from;
+    }
+
+    public long getTo() {
+        return to;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    void setSpot(ParkingSpot spot) {
+        this.spot = spot;
+    }
+
+    void setStatus(ReservationStatus status) {
+        this.status = status;
+    }
+
+    boolean overlaps(long start, long end) {
+        return from < end && start < to;
+    }
+
+    @Override
+    public String toString() {
+        return "Reservation " + reservationId + " " + vehicle.getLicensePlate() + " on " + spot.getSpotId()
+                + " [" + from + ", " + to + ") " + status;
+    }
+}
@@ -0,0 +1,500 @@
+package LLD.ParkingSystem.reservation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingFloor;
+import LLD.ParkingSystem.entities.ParkingSpot;
+
+/**
+ * Advance bookings of spots for time windows.
+ *
+ * Indexes:
+ * - per floor and size, an IntervalTree of reservations, so "how many MEDIUM spots
+ *   on floor 3 are free from 14:00 to 18:00" costs O((k + 1) log n) for k
+ *   overlapping bookings instead of a scan of all of them
+ * - per floor and size, the spots with no booking at all (rebuilt from the floor
+ *   only when its spots change), so while one is left, booking any spot on the
+ *   floor and isAvailable are O(log n) whatever the window; once every spot has a
+ *   booking, finding one that is free in the window checks each of them
+ * - per spot, a TreeMap of its reservations by start, so a spot-specific booking
+ *   is checked for conflicts in O(log n)
+ *
+ * Holding: holdAhead before a window starts, the reservation claims its spot with
+ * tryClaim, so parking strategies no longer see it as free. If a walk-in is still
+ * on the spot, another spot of the same size on the floor that is free and not
+ * booked for the window is taken instead. If there is none, holding is retried
+ * as soon as a spot of that size on the floor is freed (ParkingLot calls
+ * spotFreed before anyone else can see it), and otherwise every minute. The customer's next park call checks in on the held spot. A held
+ * spot nobody checks into is released when the window ends.
+ *
+ * Time moves when ParkingLot calls advanceTo (on park, unpark and booking) with
+ * its clock, which costs one volatile read when nothing is due, so virtual clocks
+ * in simulations work too; advanceEvery adds a timer so that holds and no-show
+ * expiries also happen while nobody uses the lot. Bookings, cancellations and holds take the
+ * book's lock; check-in looks up held reservations in a ConcurrentHashMap first.
+ * Reservations are kept in memory only.
+ */
+public final class ReservationBook {
+    private static final long RETRY_MILLIS = 60_000;
+
+    private final LongSupplier clock;
+    private final long holdAheadMillis;
+    private final Predicate<String> isParked;
+    private final Consumer<ParkingSpot> releaseSpot;
+    private final AtomicLong reservationIds = new AtomicLong();
+    private final Map<ParkingFloor, Map<VehicleSize, FloorBookings>> byFloor = new IdentityHashMap<>();
+    // spot views from BitsetParkingFloor are equal but not identical, so a HashMap here
+    private final Map<ParkingSpot, TreeMap<Long, Reservation>> bySpot = new HashMap<>();
+    private final Map<Long, Reservation> byId = new HashMap<>();
+    private final Map<String, Reservation> heldByPlate = new ConcurrentHashMap<>();
+    private final PriorityQueue<Reservation> holdQueue = new PriorityQueue<>(Comparator.comparingLong(r -> r.holdAt));
+    private final PriorityQueue<Reservation> endQueue = new PriorityQueue<>(Comparator.comparingLong(Reservation::getTo));
+    // earliest pending hold or end; advanceTo returns at once before it
+    private volatile long nextDue = Long.MAX_VALUE;
+    // due but not yet held for lack of a spot; guarded by this
+    private final List<Reservation> overdue = new ArrayList<>();
+    private volatile boolean anyOverdue;
+    // created by advanceEvery; guarded by this
+    private ScheduledExecutorService timer;
+
+    // the bookings of one floor and size; guarded by the book's lock
+    private static final class FloorBookings {
+        final IntervalTree reservations = new IntervalTree();
+        // spots of this size on the floor with no live booking, in floor order
+        final Set<ParkingSpot> unbooked = new LinkedHashSet<>();
+        // spots with at least one live booking
+        final Set<ParkingSpot> booked = new HashSet<>();
+        // ParkingFloor.getSpotsVersion when unbooked was last rebuilt
+        long spotsVersion = -1;
+    }
+
+    /**
+     * @param clock       current time in epoch millis
+     * @param holdAhead   how long before a window starts its spot is held
+     * @param isParked    whether a plate already has an open ticket
+     * @param releaseSpot frees a held spot nobody checked into
+     */
+    public ReservationBook(LongSupplier clock, Duration holdAhead, Predicate<String> isParked, Consumer<ParkingSpot> releaseSpot) {
+        this.clock = clock;
+        this.holdAheadMillis = holdAhead.toMillis();
+        this.isParked = isParked;
+        this.releaseSpot = releaseSpot;
+    }
+
+    /**
+     * Books any spot of the vehicle's size on floor for [from, to), or returns empty
+     * if every such spot is booked for part of the window. O(log n) while some spot
+     * has no booking at all; otherwise O(b log n) for the b spots that have one.
+     */
+    public Optional<Reservation> reserve(ParkingFloor floor, Vehicle vehicle, long from, long to) {
+        checkWindow(from, to);
+        Reservation reservation = null;
+        synchronized (this) {
+            ParkingSpot spot = unbookedSpot(floor, vehicle.getSize(), from, to, null);
+            if (spot != null) {
+                reservation = add(floor, spot, vehicle, from, to);
+            }
+        }
+        advanceTo(clock.getAsLong());
+        return Optional.ofNullable(reservation);
+    }
+
+    /**
+     * Books this spot for [from, to), or returns empty if it is already booked for
+     * part of the window.
+     */
+    public Optional<Reservation> reserve(ParkingSpot spot, Vehicle vehicle, long from, long to) {
+        checkWindow(from, to);
+        if (spot.getFloor() == null || spot.getSpotSize() != vehicle.getSize()) {
+            throw new IllegalArgumentException("Spot " + spot.getSpotId() + " cannot take vehicle " + vehicle.getLicensePlate());
+        }
+        Reservation reservation = null;
+        synchronized (this) {
+            if (!isBooked(spot, from, to)) {
+                reservation = add(spot.getFloor(), spot, vehicle, from, to);
+            }
+        }
+        advanceTo(clock.getAsLong());
+        return Optional.ofNullable(reservation);
+    }
+
+    /**
+     * Spots of this size on floor that no reservation covers during [from, to), in
+     * O((k + 1) log n) for the k bookings overlapping the window. Walk-ins are not
+     * known in advance, so for a window starting now some of these may be occupied.
+     */
+    public synchronized long availableSpots(ParkingFloor floor, VehicleSize size, long from, long to) {
+        long capacity = floor.getAvailableSpots(size) + floor.getOccupiedSpots(size);
+        return capacity - bookedSpotCount(floor, size, from, to);
+    }
+
+    /**
+     * Whether availableSpots would be positive: O(1) while some spot of this size on
+     * the floor has no booking at all, otherwise as availableSpots.
+     */
+    public boolean isAvailable(ParkingFloor floor, VehicleSize size, long from, long to) {
+        synchronized (this) {
+            if (!bookings(floor, size).unbooked.isEmpty()) {
+                return true;
+            }
+        }
+        return availableSpots(floor, size, from, to) > 0;
+    }
+
+    /**
+     * Calls advanceTo with the book's clock every period from a daemon thread, so
+     * holds start and no-shows expire on an idle lot too. Stopped by close.
+     */
+    public synchronized void advanceEvery(long period, TimeUnit unit) {
+        if (timer == null) {
+            timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "reservation-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        timer.scheduleWithFixedDelay(() -> advanceTo(clock.getAsLong()), period, period, unit);
+    }
+
+    /**
+     * Stops the advanceEvery timer. The book itself stays usable.
+     */
+    public synchronized void close() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+    }
+
+    public synchronized Optional<Reservation> get(long reservationId) {
+        return Optional.ofNullable(byId.get(reservationId));
+    }
+
+    /**
+     * Cancels a reservation that has not been checked into, freeing its spot if
+     * held. Returns false if there is no such live reservation.
+     */
+    public boolean cancel(long reservationId) {
+        Reservation reservation;
+        synchronized (this) {
+            reservation = byId.get(reservationId);
+            if (reservation == null || reservation.getStatus() == ReservationStatus.CHECKED_IN) {
+                return false;
+            }
+            remove(reservation);
+            boolean held = reservation.getStatus() == ReservationStatus.HELD;
+            reservation.setStatus(ReservationStatus.CANCELLED);
+            if (!held) {
+                return true;
+            }
+            heldByPlate.remove(reservation.getVehicle().getLicensePlate(), reservation);
+        }
+        releaseSpot.accept(reservation.getSpot());
+        return true;
+    }
+
+    /**
+     * If vehicle has a held reservation, marks it checked in and returns its spot,
+     * now parked with this vehicle; otherwise null. The caller issues the ticket.
+     */
+    public ParkingSpot checkIn(Vehicle vehicle) {
+        Reservation reservation = heldByPlate.get(vehicle.getLicensePlate());
+        if (reservation == null) {
+            return null;
+        }
+        synchronized (this) {
+            if (reservation.getStatus() != ReservationStatus.HELD) {
+                return null;
+            }
+            heldByPlate.remove(vehicle.getLicensePlate(), reservation);
+            reservation.setStatus(ReservationStatus.CHECKED_IN);
+            reservation.getSpot().transfer(vehicle);
+            return reservation.getSpot();
+        }
+    }
+
+    /**
+     * Reverses checkIn when the caller could not issue the ticket (the plate was
+     * registered meanwhile by another gate): the reservation is HELD again and the
+     * spot, which stayed claimed, goes back to its vehicle. Returns false if there
+     * is no such checked-in reservation any more; the caller then frees the spot.
+     */
+    public synchronized boolean undoCheckIn(Vehicle vehicle, ParkingSpot spot) {
+        TreeMap<Long, Reservation> spotReservations = bySpot.get(spot);
+        if (spotReservations == null) {
+            return false;
+        }
+        for (Reservation reservation : spotReservations.values()) {
+            if (reservation.getStatus() == ReservationStatus.CHECKED_IN
+                    && reservation.getVehicle().getLicensePlate().equals(vehicle.getLicensePlate())
+                    && heldByPlate.putIfAbsent(vehicle.getLicensePlate(), reservation) == null) {
+                reservation.setStatus(ReservationStatus.HELD);
+                spot.transfer(reservation.getVehicle());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Holds spots whose window is within holdAhead of now and ends windows that
+     * have passed.
+     */
+    public void advanceTo(long now) {
+        if (now < nextDue) {
+            return;
+        }
+        List<ParkingSpot> released = new ArrayList<>();
+        synchronized (this) {
+            Reservation reservation;
+            while ((reservation = holdQueue.peek()) != null && reservation.holdAt <= now) {
+                holdQueue.poll();
+                if (reservation.getStatus() != ReservationStatus.BOOKED || now >= reservation.getTo()) {
+                    continue; // cancelled, or ended below
+                }
+                if (hold(reservation, released)) {
+                    overdue.remove(reservation);
+                } else {
+                    reservation.holdAt = now + RETRY_MILLIS;
+                    holdQueue.add(reservation);
+                    if (!overdue.contains(reservation)) {
+                        overdue.add(reservation);
+                    }
+                }
+            }
+            while ((reservation = endQueue.peek()) != null && reservation.getTo() <= now) {
+                endQueue.poll();
+                if (byId.get(reservation.getReservationId()) != reservation) {
+                    continue; // cancelled
+                }
+                remove(reservation);
+                overdue.remove(reservation);
+                if (reservation.getStatus() == ReservationStatus.HELD) {
+                    heldByPlate.remove(reservation.getVehicle().getLicensePlate(), reservation);
+                    released.add(reservation.getSpot());
+                }
+                if (reservation.getStatus() != ReservationStatus.CHECKED_IN) {
+                    reservation.setStatus(ReservationStatus.EXPIRED);
+                }
+            }
+            updateNextDue();
+            anyOverdue = !overdue.isEmpty();
+        }
+        for (ParkingSpot spot : released) {
+            releaseSpot.accept(spot);
+        }
+    }
+
+    /**
+     * Offers a spot that is being given up (still occupied by the leaving vehicle) to
+     * the longest-overdue reservation that can use it. Returns true if the spot now
+     * holds that reservation, false if the caller should release it as usual.
+     */
+    public boolean spotFreed(ParkingSpot spot) {
+        if (!anyOverdue) {
+            return false;
+        }
+        synchronized (this) {
+            for (Reservation reservation : overdue) {
+                if (reservation.getFloor() == spot.getFloor() && reservation.getVehicle().getSize() == spot.getSpotSize()
+                        && reservation.getStatus() == ReservationStatus.BOOKED
+                        && !isBookedByOther(spot, reservation) && spot.transfer(reservation.getVehicle())
+                        && heldByPlate.putIfAbsent(reservation.getVehicle().getLicensePlate(), reservation) == null) {
+                    moveTo(reservation, spot);
+                    reservation.setStatus(ReservationStatus.HELD);
+                    overdue.remove(reservation);
+                    anyOverdue = !overdue.isEmpty();
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // claims the booked spot, or moves the booking to a free unbooked spot on the floor
+    // spots claimed and then given up go to released, freed once the lock is dropped
+    private boolean hold(Reservation reservation, List<ParkingSpot> released) {
+        Vehicle vehicle = reservation.getVehicle();
+        if (isParked.test(vehicle.getLicensePlate())) {
+            reservation.setStatus(ReservationStatus.CHECKED_IN); // arrived early as a walk-in
+            return true;
+        }
+        if (!reservation.getSpot().tryClaim(vehicle)) {
+            ParkingSpot moved = unbookedSpot(reservation.getFloor(), vehicle.getSize(), reservation.getFrom(), reservation.getTo(), vehicle);
+            if (moved == null) {
+                return false;
+            }
+            moveTo(reservation, moved);
+        }
+        if (heldByPlate.putIfAbsent(vehicle.getLicensePlate(), reservation) != null) {
+            // another window of the same plate is already held; keep the first
+            released.add(reservation.getSpot());
+            return false;
+        }
+        reservation.setStatus(ReservationStatus.HELD);
+        return true;
+    }
+
+    private void moveTo(Reservation reservation, ParkingSpot spot) {
+        if (spot.equals(reservation.getSpot())) {
+            return;
+        }
+        unbook(reservation);
+        reservation.setSpot(spot);
+        book(reservation);
+    }
+
+    /**
+     * A spot of size on floor with no booking overlapping [from, to): one with no
+     * booking at all if there is any, else the first booked spot free in the window.
+     * With claimFor set, only a spot that can also be claimed for it now.
+     */
+    private ParkingSpot unbookedSpot(ParkingFloor floor, VehicleSize size, long from, long to, Vehicle claimFor) {
+        FloorBookings bookings = bookings(floor, size);
+        for (ParkingSpot spot : bookings.unbooked) {
+            if (claimFor == null || spot.tryClaim(claimFor)) {
+                return spot;
+            }
+        }
+        for (ParkingSpot spot : bookings.booked) {
+            if (!isBooked(spot, from, to) && (claimFor == null || spot.tryClaim(claimFor))) {
+                return spot;
+            }
+        }
+        return null;
+    }
+
+    // whether another reservation has spot during reservation's window
+    private boolean isBookedByOther(ParkingSpot spot, Reservation reservation) {
+        TreeMap<Long, Reservation> spotReservations = bySpot.get(spot);
+        if (spotReservations == null) {
+            return false;
+        }
+        Map.Entry<Long, Reservation> before = spotReservations.lowerEntry(reservation.getTo());
+        while (before != null && before.getValue().getTo() > reservation.getFrom()) {
+            if (before.getValue() != reservation) {
+                return true;
+            }
+            before = spotReservations.lowerEntry(before.getKey());
+        }
+        return false;
+    }
+
+    private Reservation add(ParkingFloor floor, ParkingSpot spot, Vehicle vehicle, long from, long to) {
+        Reservation reservation = new Reservation(reservationIds.incrementAndGet(), floor, spot, vehicle, from, to, from - holdAheadMillis);
+        bookings(floor, vehicle.getSize()).reservations.insert(reservation);
+        book(reservation);
+        byId.put(reservation.getReservationId(), reservation);
+        holdQueue.add(reservation);
+        endQueue.add(reservation);
+        updateNextDue();
+        return reservation;
+    }
+
+    // from the indexes; stale queue entries are skipped when polled
+    private void remove(Reservation reservation) {
+        bookings(reservation.getFloor(), reservation.getVehicle().getSize()).reservations.remove(reservation);
+        unbook(reservation);
+        byId.remove(reservation.getReservationId());
+    }
+
+    // adds reservation to its spot's bookings
+    private void book(Reservation reservation) {
+        ParkingSpot spot = reservation.getSpot();
+        TreeMap<Long, Reservation> spotReservations = bySpot.computeIfAbsent(spot, s -> new TreeMap<>());
+        if (spotReservations.isEmpty()) {
+            FloorBookings bookings = bookings(reservation.getFloor(), spot.getSpotSize());
+            bookings.unbooked.remove(spot);
+            bookings.booked.add(spot);
+        }
+        spotReservations.put(reservation.getFrom(), reservation);
+    }
+
+    // removes reservation from its spot's bookings
+    private void unbook(Reservation reservation) {
+        ParkingSpot spot = reservation.getSpot();
+        TreeMap<Long, Reservation> spotReservations = bySpot.get(spot);
+        if (spotReservations == null || spotReservations.remove(reservation.getFrom()) == null || !spotReservations.isEmpty()) {
+            return;
+        }
+        bySpot.remove(spot);
+        FloorBookings bookings = bookings(reservation.getFloor(), spot.getSpotSize());
+        if (bookings.booked.remove(spot)) {
+            bookings.unbooked.add(spot);
+        }
+    }
+
+    private boolean isBooked(ParkingSpot spot, long from, long to) {
+        TreeMap<Long, Reservation> spotReservations = bySpot.get(spot);
+        if (spotReservations == null) {
+            return false;
+        }
+        // a spot's bookings never overlap, so only the last one starting before `to` can
+        Map.Entry<Long, Reservation> before = spotReservations.lowerEntry(to);
+        return before != null && before.getValue().getTo() > from;
+    }
+
+    // distinct spots with a booking overlapping [from, to)
+    private long bookedSpotCount(ParkingFloor floor, VehicleSize size, long from, long to) {
+        Set<ParkingSpot> booked = new HashSet<>();
+        bookings(floor, size).reservations.overlapping(from, to, r -> booked.add(r.getSpot()));
+        return booked.size();
+    }
+
+    // also brings the unbooked spots up to date with the floor's spots
+    private FloorBookings bookings(ParkingFloor floor, VehicleSize size) {
+        FloorBookings bookings = byFloor.computeIfAbsent(floor, f -> new EnumMap<>(VehicleSize.class))
+                .computeIfAbsent(size, s -> new FloorBookings());
+        long version = floor.getSpotsVersion();
+        if (bookings.spotsVersion != version) {
+            bookings.unbooked.clear();
+            for (ParkingSpot spot : floor.getSpots(size)) {
+                if (!bySpot.containsKey(spot)) {
+                    bookings.unbooked.add(spot);
+                }
+            }
+            bookings.spotsVersion = version;
+        }
+        return bookings;
+    }
+
+    private void updateNextDue() {
+        long next = Long.MAX_VALUE;
+        if (!holdQueue.isEmpty()) {
+            next = holdQueue.peek().holdAt;
+        }
+        if (!endQueue.isEmpty()) {
+            next = Math.min(next, endQueue.peek().getTo());
+        }
+        nextDue = next;
+    }
+
+    private static void checkWindow(long from, long to) {
+        if (from >= to) {
+            throw new IllegalArgumentException("Empty reservation window [" + from + ", " + to + ")");
+        }
+    }
+}
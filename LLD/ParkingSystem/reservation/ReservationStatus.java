@@ -0,0 +1,13 @@
+package LLD.ParkingSystem.reservation;
+
+public enum ReservationStatus {
+    // booked; the spot is still open to walk-ins
+    BOOKED,
+    // window about to start or running: the spot is claimed for the customer
+    HELD,
+    // customer arrived and got a ticket
+    CHECKED_IN,
+    // window ended without a check-in
+    EXPIRED,
+    CANCELLED
+}
@@ -0,0 +1,130 @@
+package LLD.ParkingSystem.settlement;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingTicket;
+
+/**
+ * Append-only file of closed tickets for end-of-day settlement.
+ *
+ * Records are fixed width (RECORD_SIZE bytes, big-endian):
+ *   ticketId long | lotId int | floor int | size byte | entryTime long | exitTime long
+ * so a reader can split the file into ranges by offset and price them in parallel
+ * without parsing anything first.
+ *
+ * Records are buffered in memory and written when the buffer fills; a daemon
+ * thread flushes and fsyncs them every syncPeriod, and flush() and close() do so
+ * at once, so a crash loses at most one period of closed tickets. A failed
+ * background sync is rethrown by the next append, flush or close.
+ */
+public class ClosedTicketLog implements AutoCloseable {
+    public static final int RECORD_SIZE = 8 + 4 + 4 + 1 + 8 + 8;
+    static final int LOT_OFFSET = 8;
+    static final int FLOOR_OFFSET = 12;
+    static final int SIZE_OFFSET = 16;
+    static final int ENTRY_OFFSET = 17;
+    static final int EXIT_OFFSET = 25;
+    private static final int BUFFER_SIZE = RECORD_SIZE * 4096;
+    public static final Duration DEFAULT_SYNC_PERIOD = Duration.ofSeconds(1);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int lotId;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ScheduledExecutorService scheduler;
+    private volatile IOException syncFailure;
+
+    /**
+     * Appends to file (created if missing); every record is tagged with lotId.
+     * Synced every DEFAULT_SYNC_PERIOD.
+     */
+    public ClosedTicketLog(Path file, int lotId) throws IOException {
+        this(file, lotId, DEFAULT_SYNC_PERIOD);
+    }
+
+    public ClosedTicketLog(Path file, int lotId, Duration syncPeriod) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.lotId = lotId;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "closed-ticket-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = syncPeriod.toNanos();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (IOException e) {
+                syncFailure = e;
+            }
+        }, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void append(ParkingTicket ticket) throws IOException {
+        append(ticket.getTicketId(), ticket.getSpot().getFloor().getFloorNumber(), ticket.getVehicle().getSize(),
+                ticket.getEntryTime(), ticket.getExitTime());
+    }
+
+    public synchronized void append(long ticketId, int floorNumber, VehicleSize size, long entryTime, long exitTime) throws IOException {
+        checkSynced();
+        if (buffer.remaining() < RECORD_SIZE) {
+            write();
+        }
+        buffer.putLong(ticketId).putInt(lotId).putInt(floorNumber).put((byte) size.ordinal())
+                .putLong(entryTime).putLong(exitTime);
+    }
+
+    /**
+     * Writes the buffered records and forces them to disk, e.g. before settling a
+     * log that is still open.
+     */
+    public synchronized void flush() throws IOException {
+        checkSynced();
+        if (!channel.isOpen()) {
+            return;
+        }
+        write();
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        scheduler.shutdownNow();
+        if (channel.isOpen()) {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private void write() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void checkSynced() throws IOException {
+        IOException failure = syncFailure;
+        if (failure != null) {
+            throw new IOException("Closed ticket log sync failed", failure);
+        }
+    }
+}
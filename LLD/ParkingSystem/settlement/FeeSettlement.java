@@ -0,0 +1,100 @@
+package LLD.ParkingSystem.settlement;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import LLD.ParkingSystem.strategy.fee.TicketFeeFunction;
+
+/**
+ * End-of-day settlement: re-prices every closed ticket in a ClosedTicketLog file
+ * and totals revenue per lot, floor and size.
+ *
+ * The file is memory-mapped in chunks of whole records and each chunk is split
+ * by fork/join into ranges of LEAF_RECORDS. Leaves read fields with absolute gets
+ * (no objects per ticket), price them with a TicketFeeFunction (e.g. a precomputed
+ * HourlyRateTable) and fill a private SettlementReport; reports merge as tasks join.
+ */
+public final class FeeSettlement {
+    private static final int LEAF_RECORDS = 1 << 15;
+    // largest mappable chunk that holds whole records
+    private static final long CHUNK_BYTES = (Integer.MAX_VALUE / ClosedTicketLog.RECORD_SIZE) * (long) ClosedTicketLog.RECORD_SIZE;
+
+    private final ForkJoinPool pool;
+    private final TicketFeeFunction fees;
+
+    public FeeSettlement(TicketFeeFunction fees) {
+        this(ForkJoinPool.commonPool(), fees);
+    }
+
+    public FeeSettlement(ForkJoinPool pool, TicketFeeFunction fees) {
+        this.pool = pool;
+        this.fees = fees;
+    }
+
+    /**
+     * Settles a log that is still being appended to: its buffered records are
+     * flushed first, so every ticket closed before this call is included.
+     */
+    public SettlementReport settle(ClosedTicketLog log) throws IOException {
+        log.flush();
+        return settle(log.getFile());
+    }
+
+    public SettlementReport settle(Path closedTickets) throws IOException {
+        long start = System.nanoTime();
+        SettlementReport report = new SettlementReport();
+        try (FileChannel channel = FileChannel.open(closedTickets, StandardOpenOption.READ)) {
+            long records = channel.size() / ClosedTicketLog.RECORD_SIZE; // ignores a torn last record
+            long end = records * ClosedTicketLog.RECORD_SIZE;
+            for (long offset = 0; offset < end; offset += CHUNK_BYTES) {
+                long length = Math.min(CHUNK_BYTES, end - offset);
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                report.merge(pool.invoke(new PriceRange(chunk, 0, (int) (length / ClosedTicketLog.RECORD_SIZE))));
+            }
+        }
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    private final class PriceRange extends RecursiveTask<SettlementReport> {
+        private static final long serialVersionUID = 1L;
+
+        private final MappedByteBuffer chunk;
+        private final int from;
+        private final int to;
+
+        PriceRange(MappedByteBuffer chunk, int from, int to) {
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SettlementReport compute() {
+            if (to - from <= LEAF_RECORDS) {
+                return priceLeaf();
+            }
+            int mid = (from + to) >>> 1;
+            PriceRange left = new PriceRange(chunk, from, mid);
+            left.fork();
+            SettlementReport right = new PriceRange(chunk, mid, to).compute();
+            return left.join().merge(right);
+        }
+
+        private SettlementReport priceLeaf() {
+            SettlementReport report = new SettlementReport();
+            for (int i = from; i < to; i++) {
+                int base = i * ClosedTicketLog.RECORD_SIZE;
+                int size = chunk.get(base + ClosedTicketLog.SIZE_OFFSET);
+                double fee = fees.fee(size, chunk.getLong(base + ClosedTicketLog.ENTRY_OFFSET), chunk.getLong(base + ClosedTicketLog.EXIT_OFFSET));
+                report.add(chunk.getInt(base + ClosedTicketLog.LOT_OFFSET), chunk.getInt(base + ClosedTicketLog.FLOOR_OFFSET), size, fee);
+            }
+            return report;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package LLD.ParkingSystem.settlement;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import LLD.ParkingSystem.Vehicle.Bike;
+import LLD.ParkingSystem.Vehicle.Car;
+import LLD.ParkingSystem.Vehicle.Truck;
+import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingSpot;
+import LLD.ParkingSystem.entities.ParkingTicket;
+import LLD.ParkingSystem.strategy.fee.VehicleBasedFeeStrategy;
+
+/**
+ * Settles a synthetic day of closed tickets (default 10M, or args[0]) and compares
+ * the fork/join pipeline with the one-ticket-at-a-time FeeStrategy path.
+ */
+public class FeeSettlementBenchmark {
+    private static final int LOTS = 20;
+    private static final int FLOORS = 8;
+    private static final long DAY_START = 1_767_225_600_000L; // 2026-01-01T00:00:00Z
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        Path file = Files.createTempFile("closed-tickets", ".bin");
+        try {
+            writeDay(file, count);
+            VehicleBasedFeeStrategy strategy = new VehicleBasedFeeStrategy();
+            System.out.printf("Sequential CalculateFee: %.0f records/s%n", sequentialRate(strategy, Math.min(count, 1_000_000)));
+            FeeSettlement settlement = new FeeSettlement(strategy.getRates());
+            settlement.settle(file); // warm-up
+            SettlementReport report = settlement.settle(file);
+            System.out.printf("Fork/join settlement: %d tickets, $%.2f, %.0f records/s (%d threads)%n",
+                    report.getRecords(), report.totalRevenue(), report.recordsPerSecond(),
+                    java.util.concurrent.ForkJoinPool.getCommonPoolParallelism());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void writeDay(Path file, int count) throws IOException {
+        Random random = new Random(42);
+        VehicleSize[] sizes = VehicleSize.values();
+        for (int lot = 0; lot < LOTS; lot++) {
+            try (ClosedTicketLog log = new ClosedTicketLog(file, lot)) {
+                for (int i = lot; i < count; i += LOTS) {
+                    long entry = DAY_START + random.nextInt(20 * 3_600_000);
+                    log.append(i + 1, 1 + random.nextInt(FLOORS), sizes[random.nextInt(sizes.length)], entry,
+                            entry + random.nextInt(4 * 3_600_000));
+                }
+            }
+        }
+    }
+
+    // the pre-settlement path: one ParkingTicket per record through FeeStrategy. The
+    // tickets are built before the timer, with the same stays as writeDay, so only
+    // the fee calculation is timed.
+    private static double sequentialRate(VehicleBasedFeeStrategy strategy, int count) {
+        Random random = new Random(7);
+        ParkingTicket[] tickets = new ParkingTicket[count];
+        for (int i = 0; i < count; i++) {
+            Vehicle vehicle = newVehicle(random.nextInt(3), "V" + i);
+            long entry = DAY_START + random.nextInt(20 * 3_600_000);
+            tickets[i] = new ParkingTicket(i + 1, vehicle, new ParkingSpot("S" + i, vehicle.getSize()), entry);
+            tickets[i].setExitTime(entry + random.nextInt(4 * 3_600_000));
+        }
+        double total = 0;
+        long start = System.nanoTime();
+        for (ParkingTicket ticket : tickets) {
+            total += strategy.CalculateFee(ticket);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (total < 0) {
+            System.out.println(total);
+        }
+        return count * 1e9 / elapsed;
+    }
+
+    private static Vehicle newVehicle(int kind, String plate) {
+        switch (kind) {
+            case 0:
+                return new Bike(plate);
+            case 1:
+                return new Car(plate);
+            default:
+                return new Truck(plate);
+        }
+    }
+}
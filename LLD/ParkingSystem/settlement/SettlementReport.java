@@ -0,0 +1,117 @@
+package LLD.ParkingSystem.settlement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+
+/**
+ * Revenue and ticket counts per (lot, floor, VehicleSize), plus run statistics.
+ *
+ * Each fork/join leaf fills its own instance single-threaded (add), and results
+ * are combined pairwise as tasks join (merge), so no counter is ever shared.
+ */
+public final class SettlementReport {
+    private static final int SIZES = VehicleSize.values().length;
+
+    // key: lotId << 32 | floor
+    private final Map<Long, Cell> cells = new HashMap<>();
+    // the previous record's cell: closed tickets tend to come in runs from one floor
+    private long lastKey;
+    private Cell lastCell;
+    private long records;
+    private long elapsedNanos;
+
+    private static final class Cell {
+        final double[] revenue = new double[SIZES];
+        final long[] tickets = new long[SIZES];
+    }
+
+    void add(int lotId, int floor, int sizeOrdinal, double fee) {
+        long key = key(lotId, floor);
+        Cell cell = lastCell;
+        if (cell == null || key != lastKey) {
+            cell = cells.computeIfAbsent(key, k -> new Cell());
+            lastKey = key;
+            lastCell = cell;
+        }
+        cell.revenue[sizeOrdinal] += fee;
+        cell.tickets[sizeOrdinal]++;
+        records++;
+    }
+
+    SettlementReport merge(SettlementReport other) {
+        for (Map.Entry<Long, Cell> entry : other.cells.entrySet()) {
+            Cell cell = cells.computeIfAbsent(entry.getKey(), k -> new Cell());
+            for (int s = 0; s < SIZES; s++) {
+                cell.revenue[s] += entry.getValue().revenue[s];
+                cell.tickets[s] += entry.getValue().tickets[s];
+            }
+        }
+        records += other.records;
+        return this;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public double recordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : records * 1e9 / elapsedNanos;
+    }
+
+    public double revenue(int lotId, int floor, VehicleSize size) {
+        Cell cell = cells.get(key(lotId, floor));
+        return cell == null ? 0 : cell.revenue[size.ordinal()];
+    }
+
+    public long tickets(int lotId, int floor, VehicleSize size) {
+        Cell cell = cells.get(key(lotId, floor));
+        return cell == null ? 0 : cell.tickets[size.ordinal()];
+    }
+
+    public double lotRevenue(int lotId) {
+        double total = 0;
+        for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+            if ((int) (entry.getKey() >> 32) == lotId) {
+                for (double revenue : entry.getValue().revenue) {
+                    total += revenue;
+                }
+            }
+        }
+        return total;
+    }
+
+    public double totalRevenue() {
+        double total = 0;
+        for (Cell cell : cells.values()) {
+            for (double revenue : cell.revenue) {
+                total += revenue;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<Long, Cell> entry : new TreeMap<>(cells).entrySet()) {
+            out.append("Lot ").append((int) (entry.getKey() >> 32)).append(" floor ").append((int) (long) entry.getKey()).append(':');
+            for (VehicleSize size : VehicleSize.values()) {
+                out.append(String.format(" %s=%d/$%.2f", size, entry.getValue().tickets[size.ordinal()], entry.getValue().revenue[size.ordinal()]));
+            }
+            out.append('\n');
+        }
+        out.append(String.format("%d tickets, $%.2f, %.0f records/s%n", records, totalRevenue(), recordsPerSecond()));
+        return out.toString();
+    }
+
+    private static long key(int lotId, int floor) {
+        return (long) lotId << 32 | (floor & 0xffffffffL);
+    }
+}
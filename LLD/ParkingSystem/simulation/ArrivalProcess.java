@@ -0,0 +1,58 @@
+package LLD.ParkingSystem.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * When the next vehicle arrives, given the current simulated time.
+ */
+@FunctionalInterface
+public interface ArrivalProcess {
+    long HOUR_MILLIS = 3_600_000L;
+
+    long nextArrival(long now, SplittableRandom random);
+
+    /**
+     * Homogeneous Poisson arrivals: exponential gaps with mean 1 / ratePerHour.
+     */
+    static ArrivalProcess poisson(double ratePerHour) {
+        if (!(ratePerHour > 0) || Double.isInfinite(ratePerHour)) {
+            throw new IllegalArgumentException("rate must be positive and finite: " + ratePerHour);
+        }
+        double meanGapMillis = HOUR_MILLIS / ratePerHour;
+        return (now, random) -> now + 1 + (long) (random.nextExponential() * meanGapMillis);
+    }
+
+    /**
+     * Poisson arrivals whose rate follows the hour of day (UTC), e.g. morning and
+     * evening peaks. Sampled by thinning against the peak rate. Rates must be
+     * finite and non-negative, with at least one hour above zero.
+     */
+    static ArrivalProcess hourlyProfile(double[] ratePerHourOfDay) {
+        if (ratePerHourOfDay.length != 24) {
+            throw new IllegalArgumentException("need 24 hourly rates");
+        }
+        double[] rates = ratePerHourOfDay.clone();
+        double peak = 0;
+        for (double rate : rates) {
+            if (!(rate >= 0) || Double.isInfinite(rate)) {
+                throw new IllegalArgumentException("hourly rates must be finite and non-negative: " + rate);
+            }
+            peak = Math.max(peak, rate);
+        }
+        if (peak == 0) {
+            // thinning would never accept an arrival
+            throw new IllegalArgumentException("need at least one positive hourly rate");
+        }
+        double peakRate = peak;
+        double meanGapMillis = HOUR_MILLIS / peakRate;
+        return (now, random) -> {
+            long t = now;
+            while (true) {
+                t += 1 + (long) (random.nextExponential() * meanGapMillis);
+                if (random.nextDouble() * peakRate < rates[(int) ((t / HOUR_MILLIS) % 24)]) {
+                    return t;
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package LLD.ParkingSystem.simulation;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * How long a parked vehicle stays, in milliseconds.
+ */
+@FunctionalInterface
+public interface DwellTime {
+    long sample(SplittableRandom random);
+
+    static DwellTime exponential(Duration mean) {
+        double meanMillis = mean.toMillis();
+        return random -> 1 + (long) (random.nextExponential() * meanMillis);
+    }
+
+    /**
+     * Log-normal stays: most visits are short, with a long tail of all-day parkers.
+     */
+    static DwellTime logNormal(Duration median, double sigma) {
+        double mu = Math.log(median.toMillis());
+        return random -> 1 + (long) Math.exp(mu + sigma * random.nextGaussian());
+    }
+}
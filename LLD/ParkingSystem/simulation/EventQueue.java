@@ -0,0 +1,80 @@
+package LLD.ParkingSystem.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of (time, kind, data) events in parallel primitive arrays, so
+ * scheduling an event allocates nothing. Ties on time pop in heap order, which is
+ * deterministic for a given sequence of pushes.
+ */
+final class EventQueue {
+    private long[] times = new long[1024];
+    private int[] kinds = new int[1024];
+    private int[] data = new int[1024];
+    private int size;
+
+    // fields of the last popped event
+    long time;
+    int kind;
+    int payload;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long peekTime() {
+        return times[0];
+    }
+
+    void push(long eventTime, int eventKind, int eventData) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            kinds = Arrays.copyOf(kinds, size * 2);
+            data = Arrays.copyOf(data, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (times[parent] <= eventTime) {
+                break;
+            }
+            move(parent, i);
+            i = parent;
+        }
+        times[i] = eventTime;
+        kinds[i] = eventKind;
+        data[i] = eventData;
+    }
+
+    void pop() {
+        time = times[0];
+        kind = kinds[0];
+        payload = data[0];
+        int last = --size;
+        long lastTime = times[last];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= last) {
+                break;
+            }
+            if (child + 1 < last && times[child + 1] < times[child]) {
+                child++;
+            }
+            if (times[child] >= lastTime) {
+                break;
+            }
+            move(child, i);
+            i = child;
+        }
+        times[i] = lastTime;
+        kinds[i] = kinds[last];
+        data[i] = data[last];
+    }
+
+    private void move(int from, int to) {
+        times[to] = times[from];
+        kinds[to] = kinds[from];
+        data[to] = data[from];
+    }
+}
@@ -0,0 +1,55 @@
+package LLD.ParkingSystem.simulation;
+
+import java.time.Duration;
+
+import LLD.ParkingSystem.ParkingLot;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingFloor;
+import LLD.ParkingSystem.entities.ParkingSpot;
+import LLD.ParkingSystem.strategy.parking.BestFitStrategy;
+import LLD.ParkingSystem.strategy.parking.FarthestFirstStrategy;
+import LLD.ParkingSystem.strategy.parking.NearestFirstStrategy;
+
+/**
+ * Throughput-versus-gates curve for every parking strategy, up to 30 gates on one
+ * lot. args[0] is the run time per point in milliseconds (default 300).
+ */
+public class GateLoadDemo {
+    private static final int[] GATES = {1, 2, 4, 8, 16, 30};
+    private static final int FLOORS = 4;
+    private static final int SPOTS_PER_FLOOR = 2_500;
+
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 300;
+        GateLoadHarness harness = GateLoadHarness.builder().duration(Duration.ofMillis(millis)).build();
+        System.out.println("Gates on " + (GateThreads.virtualThreadsAvailable() ? "virtual" : "platform") + " threads, "
+                + Runtime.getRuntime().availableProcessors() + " CPUs");
+        harness.run(newSite(new BestFitStrategy()), 4, "warm-up");
+
+        LLD.ParkingSystem.strategy.parking.ParkingSpot[] strategies = {
+                new NearestFirstStrategy(), new FarthestFirstStrategy(), new BestFitStrategy()};
+        for (LLD.ParkingSystem.strategy.parking.ParkingSpot strategy : strategies) {
+            for (int gates : GATES) {
+                LoadPoint point = harness.run(newSite(strategy), gates, strategy.getClass().getSimpleName());
+                System.out.println(point);
+                for (String violation : point.violations()) {
+                    System.out.println("  VIOLATION " + violation);
+                }
+            }
+        }
+    }
+
+    private static ParkingLot newSite(LLD.ParkingSystem.strategy.parking.ParkingSpot strategy) {
+        ParkingLot lot = ParkingLot.newInstance();
+        for (int f = 1; f <= FLOORS; f++) {
+            ParkingFloor floor = new ParkingFloor(f);
+            for (int i = 0; i < SPOTS_PER_FLOOR; i++) {
+                VehicleSize size = i % 10 < 2 ? VehicleSize.SMALL : i % 10 < 9 ? VehicleSize.MEDIUM : VehicleSize.LARGE;
+                floor.addSpot(new ParkingSpot(String.format("F%d-%05d", f, i), size));
+            }
+            lot.addParkingFloor(floor);
+        }
+        lot.setParkingStrategy(strategy);
+        return lot;
+    }
+}
@@ -0,0 +1,297 @@
+package LLD.ParkingSystem.simulation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+import LLD.ParkingSystem.ParkingLot;
+import LLD.ParkingSystem.Vehicle.Bike;
+import LLD.ParkingSystem.Vehicle.Car;
+import LLD.ParkingSystem.Vehicle.Truck;
+import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingTicket;
+import LLD.ParkingSystem.events.ParkingEventSink;
+import LLD.ParkingSystem.index.AvailabilitySnapshot;
+
+/**
+ * Reproduces entry/exit gates hitting one ParkingLot concurrently, in real time.
+ *
+ * Each gate runs on its own thread (virtual where available, see GateThreads) and
+ * loops park/unpark calls at a configurable rate and mix, exiting either by ticket
+ * id or by plate. Latencies go into per-gate histograms, merged at the end.
+ *
+ * Invariants checked:
+ * - no double parking: every spot handed out is recorded in spotOwners, and a
+ *   second live ticket for the same spot is a violation
+ * - no lost tickets: every exit of a ticket the gate holds must succeed, during
+ *   the run and when draining at the end
+ * - counts: with gates stopped, occupied spots (lot counters) must equal the
+ *   tickets held, and after draining every spot must be free again
+ */
+public final class GateLoadHarness {
+    private static final int MAX_REPORTED_VIOLATIONS = 20;
+
+    private final long durationNanos;
+    private final double opsPerSecondPerGate;
+    private final double parkShare;
+    private final double plateExitShare;
+    private final long seed;
+
+    private GateLoadHarness(Builder builder) {
+        this.durationNanos = builder.duration.toNanos();
+        this.opsPerSecondPerGate = builder.opsPerSecondPerGate;
+        this.parkShare = builder.parkShare;
+        this.plateExitShare = builder.plateExitShare;
+        this.seed = builder.seed;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public LoadPoint run(ParkingLot lot, int gates, String label) {
+        lot.setEventSink(ParkingEventSink.NO_OP);
+        long capacity = capacityOf(lot.availability());
+        ConcurrentHashMap<String, Long> spotOwners = new ConcurrentHashMap<>();
+        List<String> violations = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch ready = new CountDownLatch(gates);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Gate> gateList = new ArrayList<>();
+        List<Future<?>> running = new ArrayList<>();
+        ExecutorService executor = GateThreads.newPerGateExecutor();
+        long begin;
+        try {
+            for (int g = 0; g < gates; g++) {
+                Gate gate = new Gate(g, lot, spotOwners, violations);
+                gateList.add(gate);
+                running.add(executor.submit(() -> {
+                    ready.countDown();
+                    awaitUninterruptibly(start);
+                    gate.run(System.nanoTime() + durationNanos);
+                }));
+            }
+            awaitUninterruptibly(ready);
+            begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> gate : running) {
+                try {
+                    gate.get();
+                } catch (ExecutionException e) {
+                    report(violations, "gate failed: " + e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted while gates were running", e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        LatencyHistogram park = new LatencyHistogram();
+        LatencyHistogram unpark = new LatencyHistogram();
+        long operations = 0;
+        long rejections = 0;
+        long held = 0;
+        for (Gate gate : gateList) {
+            park.merge(gate.park);
+            unpark.merge(gate.unpark);
+            operations += gate.operations;
+            rejections += gate.rejections;
+            held += gate.held.size();
+        }
+        checkCounts(lot, capacity, held, violations, "after run");
+        for (Gate gate : gateList) {
+            while (!gate.held.isEmpty()) {
+                gate.exit(gate.held.size() - 1, false);
+            }
+        }
+        checkCounts(lot, capacity, 0, violations, "after drain");
+        return new LoadPoint(label, gates, operations, rejections, elapsed, park, unpark, new ArrayList<>(violations));
+    }
+
+    private static void checkCounts(ParkingLot lot, long capacity, long held, List<String> violations, String when) {
+        AvailabilitySnapshot snapshot = lot.availability();
+        long occupied = 0;
+        for (VehicleSize size : VehicleSize.values()) {
+            occupied += snapshot.totalOccupied(size);
+        }
+        if (occupied != held || lot.totalAvailable() != capacity - held) {
+            report(violations, String.format("%s: %d tickets held but %d spots occupied and %d of %d free",
+                    when, held, occupied, lot.totalAvailable(), capacity));
+        }
+    }
+
+    private static long capacityOf(AvailabilitySnapshot snapshot) {
+        long capacity = 0;
+        for (VehicleSize size : VehicleSize.values()) {
+            capacity += snapshot.totalFree(size) + snapshot.totalOccupied(size);
+        }
+        return capacity;
+    }
+
+    private static void report(List<String> violations, String violation) {
+        if (violations.size() < MAX_REPORTED_VIOLATIONS) {
+            violations.add(violation);
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String spotKey(ParkingTicket ticket) {
+        return ticket.getSpot().getFloor().getFloorNumber() + "/" + ticket.getSpot().getSpotId();
+    }
+
+    private final class Gate {
+        final int number;
+        final ParkingLot lot;
+        final ConcurrentHashMap<String, Long> spotOwners;
+        final List<String> violations;
+        final SplittableRandom random;
+        final List<ParkingTicket> held = new ArrayList<>();
+        final LatencyHistogram park = new LatencyHistogram();
+        final LatencyHistogram unpark = new LatencyHistogram();
+        long operations;
+        long rejections;
+        long vehicles;
+
+        Gate(int number, ParkingLot lot, ConcurrentHashMap<String, Long> spotOwners, List<String> violations) {
+            this.number = number;
+            this.lot = lot;
+            this.spotOwners = spotOwners;
+            this.violations = violations;
+            this.random = new SplittableRandom(seed * 31 + number);
+        }
+
+        void run(long deadline) {
+            long intervalNanos = opsPerSecondPerGate > 0 ? (long) (1e9 / opsPerSecondPerGate) : 0;
+            long next = System.nanoTime();
+            while (true) {
+                long now = System.nanoTime();
+                if (now >= deadline) {
+                    return;
+                }
+                if (intervalNanos > 0) {
+                    next += intervalNanos;
+                    if (next > now) {
+                        LockSupport.parkNanos(next - now);
+                    }
+                }
+                if (held.isEmpty() || random.nextDouble() < parkShare) {
+                    enter();
+                } else {
+                    exit(random.nextInt(held.size()), random.nextDouble() < plateExitShare);
+                }
+                operations++;
+            }
+        }
+
+        void enter() {
+            Vehicle vehicle = newVehicle();
+            long before = System.nanoTime();
+            Optional<ParkingTicket> ticket = lot.parkVehicle(vehicle);
+            park.record(System.nanoTime() - before);
+            if (ticket.isEmpty()) {
+                rejections++;
+                return;
+            }
+            Long previous = spotOwners.putIfAbsent(spotKey(ticket.get()), ticket.get().getTicketId());
+            if (previous != null) {
+                report(violations, "spot " + spotKey(ticket.get()) + " double-parked by tickets " + previous + " and " + ticket.get().getTicketId());
+            }
+            held.add(ticket.get());
+        }
+
+        void exit(int index, boolean byPlate) {
+            ParkingTicket ticket = held.get(index);
+            held.set(index, held.get(held.size() - 1));
+            held.remove(held.size() - 1);
+            // release ownership before the spot is freed, or its next claimant would look like a double park
+            if (!spotOwners.remove(spotKey(ticket), ticket.getTicketId())) {
+                report(violations, "spot " + spotKey(ticket) + " no longer owned by ticket " + ticket.getTicketId());
+            }
+            long before = System.nanoTime();
+            Optional<Double> fee = byPlate ? lot.unparkVehicle(ticket.getVehicle().getLicensePlate())
+                                           : lot.unparkVehicle(ticket.getTicketId());
+            unpark.record(System.nanoTime() - before);
+            if (fee.isEmpty()) {
+                report(violations, "ticket " + ticket.getTicketId() + " (" + ticket.getVehicle().getLicensePlate() + ") lost");
+            }
+        }
+
+        private Vehicle newVehicle() {
+            String plate = "G" + number + "-" + (++vehicles);
+            int kind = random.nextInt(10);
+            return kind < 2 ? new Bike(plate) : kind < 9 ? new Car(plate) : new Truck(plate);
+        }
+    }
+
+    public static final class Builder {
+        private Duration duration = Duration.ofSeconds(1);
+        private double opsPerSecondPerGate;
+        private double parkShare = 0.5;
+        private double plateExitShare = 0.5;
+        private long seed = 1;
+
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        /**
+         * Target operations per second for each gate; 0 (default) runs flat out.
+         */
+        public Builder opsPerSecondPerGate(double opsPerSecondPerGate) {
+            this.opsPerSecondPerGate = opsPerSecondPerGate;
+            return this;
+        }
+
+        /**
+         * Probability that an operation is a park (when the gate holds a ticket).
+         */
+        public Builder parkShare(double parkShare) {
+            this.parkShare = parkShare;
+            return this;
+        }
+
+        /**
+         * Share of exits that look the ticket up by license plate instead of id.
+         */
+        public Builder plateExitShare(double plateExitShare) {
+            this.plateExitShare = plateExitShare;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public GateLoadHarness build() {
+            return new GateLoadHarness(this);
+        }
+    }
+}
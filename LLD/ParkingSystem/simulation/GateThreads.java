@@ -0,0 +1,38 @@
+package LLD.ParkingSystem.simulation;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * One thread per gate: a virtual thread where the runtime has them (Java 21+,
+ * looked up reflectively so the project still compiles on 17), otherwise a
+ * platform daemon thread.
+ */
+final class GateThreads {
+    private GateThreads() {
+    }
+
+    static ExecutorService newPerGateExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // no virtual threads (or only as a disabled preview)
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "gate");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
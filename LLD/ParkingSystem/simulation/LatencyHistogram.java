@@ -0,0 +1,68 @@
+package LLD.ParkingSystem.simulation;
+
+/**
+ * Log-linear (HDR-style) histogram of nanosecond latencies: exact below 16ns,
+ * then 8 sub-buckets per power of two (about 12% resolution), in one fixed long[].
+ * Not thread-safe: each thread records into its own and the results are merged.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKETS = 8;
+    private final long[] counts = new long[16 + 60 * SUB_BUCKETS];
+    private long total;
+    private long max;
+
+    void record(long nanos) {
+        counts[bucket(Math.max(0, nanos))]++;
+        total++;
+        max = Math.max(max, nanos);
+    }
+
+    void merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    long count() {
+        return total;
+    }
+
+    long max() {
+        return max;
+    }
+
+    /**
+     * Lower bound of the bucket holding the given percentile (0..100).
+     */
+    long percentile(double percentile) {
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return lowerBound(i);
+            }
+        }
+        return max;
+    }
+
+    private static int bucket(long value) {
+        if (value < 16) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return 16 + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    private static long lowerBound(int bucket) {
+        if (bucket < 16) {
+            return bucket;
+        }
+        int exponent = (bucket - 16) / SUB_BUCKETS + 4;
+        int sub = (bucket - 16) % SUB_BUCKETS;
+        return (1L << exponent) + ((long) sub << (exponent - 3));
+    }
+}
@@ -0,0 +1,61 @@
+package LLD.ParkingSystem.simulation;
+
+import java.util.List;
+
+/**
+ * One point on a throughput-versus-gates curve: what a given number of concurrent
+ * gates achieved against one lot, and any invariant violations seen.
+ */
+public final class LoadPoint {
+    private final String strategy;
+    private final int gates;
+    private final long operations;
+    private final long rejections;
+    private final long elapsedNanos;
+    private final LatencyHistogram park;
+    private final LatencyHistogram unpark;
+    private final List<String> violations;
+
+    LoadPoint(String strategy, int gates, long operations, long rejections, long elapsedNanos,
+              LatencyHistogram park, LatencyHistogram unpark, List<String> violations) {
+        this.strategy = strategy;
+        this.gates = gates;
+        this.operations = operations;
+        this.rejections = rejections;
+        this.elapsedNanos = elapsedNanos;
+        this.park = park;
+        this.unpark = unpark;
+        this.violations = violations;
+    }
+
+    public int gates() {
+        return gates;
+    }
+
+    public double operationsPerSecond() {
+        return elapsedNanos == 0 ? 0 : operations * 1e9 / elapsedNanos;
+    }
+
+    public long parkLatencyPercentile(double percentile) {
+        return park.percentile(percentile);
+    }
+
+    public long unparkLatencyPercentile(double percentile) {
+        return unpark.percentile(percentile);
+    }
+
+    /**
+     * Double-parked spots, lost tickets and counter mismatches; empty if the lot held up.
+     */
+    public List<String> violations() {
+        return violations;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-22s gates=%2d %9.0f ops/s  park p50=%6dns p99=%7dns p99.9=%8dns"
+                        + "  unpark p50=%6dns p99=%7dns  rejected=%d  violations=%d",
+                strategy, gates, operationsPerSecond(), park.percentile(50), park.percentile(99), park.percentile(99.9),
+                unpark.percentile(50), unpark.percentile(99), rejections, violations.size());
+    }
+}
@@ -0,0 +1,61 @@
+package LLD.ParkingSystem.simulation;
+
+import java.time.Duration;
+
+import LLD.ParkingSystem.ParkingLot;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingFloor;
+import LLD.ParkingSystem.entities.ParkingSpot;
+import LLD.ParkingSystem.strategy.fee.VehicleBasedFeeStrategy;
+import LLD.ParkingSystem.strategy.parking.BestFitStrategy;
+import LLD.ParkingSystem.strategy.parking.FarthestFirstStrategy;
+import LLD.ParkingSystem.strategy.parking.NearestFirstStrategy;
+
+/**
+ * A month of commuter traffic against a 6-floor site, once per parking strategy,
+ * all with the same seed. args[0] scales the arrival rate (default 1.8, enough
+ * to saturate the site at the evening peak).
+ */
+public class ParkingSimulationDemo {
+    private static final int FLOORS = 6;
+    private static final int SPOTS_PER_FLOOR = 2_000;
+
+    public static void main(String[] args) {
+        double scale = args.length > 0 ? Double.parseDouble(args[0]) : 1.8;
+        double[] hourly = new double[24];
+        for (int hour = 0; hour < 24; hour++) {
+            // morning and evening peaks over a quiet night
+            hourly[hour] = scale * (400 + 2_600 * Math.exp(-Math.pow(hour - 8.5, 2) / 4) + 2_000 * Math.exp(-Math.pow(hour - 17.5, 2) / 6));
+        }
+        ParkingSimulator simulator = ParkingSimulator.builder()
+                .seed(2026)
+                .duration(Duration.ofDays(30))
+                .arrivals(ArrivalProcess.hourlyProfile(hourly))
+                .dwell(DwellTime.logNormal(Duration.ofMinutes(150), 0.9))
+                .sizeMix(0.15, 0.75, 0.10)
+                .build();
+
+        // let the JIT compile the lot's hot paths before anything is measured
+        ParkingSimulator.builder().seed(1).duration(Duration.ofDays(3)).arrivals(ArrivalProcess.hourlyProfile(hourly)).build()
+                .run(newSite(new BestFitStrategy()), "warm-up");
+
+        System.out.println(simulator.run(newSite(new NearestFirstStrategy()), "NearestFirstStrategy"));
+        System.out.println(simulator.run(newSite(new FarthestFirstStrategy()), "FarthestFirstStrategy"));
+        System.out.println(simulator.run(newSite(new BestFitStrategy()), "BestFitStrategy"));
+    }
+
+    private static ParkingLot newSite(LLD.ParkingSystem.strategy.parking.ParkingSpot strategy) {
+        ParkingLot lot = ParkingLot.newInstance();
+        for (int f = 1; f <= FLOORS; f++) {
+            ParkingFloor floor = new ParkingFloor(f);
+            for (int i = 0; i < SPOTS_PER_FLOOR; i++) {
+                VehicleSize size = i % 10 < 2 ? VehicleSize.SMALL : i % 10 < 9 ? VehicleSize.MEDIUM : VehicleSize.LARGE;
+                floor.addSpot(new ParkingSpot(String.format("F%d-%05d", f, i), size));
+            }
+            lot.addParkingFloor(floor);
+        }
+        lot.setParkingStrategy(strategy);
+        lot.setFeeStrategy(new VehicleBasedFeeStrategy());
+        return lot;
+    }
+}
@@ -0,0 +1,259 @@
+package LLD.ParkingSystem.simulation;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import LLD.ParkingSystem.ParkingLot;
+import LLD.ParkingSystem.Vehicle.Bike;
+import LLD.ParkingSystem.Vehicle.Car;
+import LLD.ParkingSystem.Vehicle.Truck;
+import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingTicket;
+import LLD.ParkingSystem.events.ParkingEventSink;
+import LLD.ParkingSystem.index.AvailabilitySnapshot;
+
+/**
+ * Discrete-event simulator that drives a real ParkingLot (its floors, index and
+ * parking strategy) with synthetic traffic, for capacity planning.
+ *
+ * Arrivals, departures and occupancy samples are events in a primitive EventQueue.
+ * The lot runs on a VirtualClock that jumps to each event's time and with console
+ * output off, so a month of traffic takes seconds. All randomness comes from one
+ * seeded SplittableRandom: the same seed gives the same traffic for every lot and
+ * strategy being compared.
+ *
+ * Vehicles are pooled per size and reused after they leave, so steady state does
+ * not allocate vehicles or plates.
+ */
+public final class ParkingSimulator {
+    private static final int ARRIVAL = 0;
+    private static final int DEPARTURE = 1;
+    private static final int SAMPLE = 2;
+
+    private final long seed;
+    private final long startMillis;
+    private final long durationMillis;
+    private final long sampleIntervalMillis;
+    private final ArrivalProcess arrivals;
+    private final DwellTime dwell;
+    private final double[] sizeMix;
+
+    private ParkingSimulator(Builder builder) {
+        this.seed = builder.seed;
+        this.startMillis = builder.startMillis;
+        this.durationMillis = builder.duration.toMillis();
+        this.sampleIntervalMillis = builder.sampleInterval.toMillis();
+        this.arrivals = builder.arrivals;
+        this.dwell = builder.dwell;
+        double total = Arrays.stream(builder.sizeWeights).sum();
+        this.sizeMix = new double[builder.sizeWeights.length];
+        double cumulative = 0;
+        for (int i = 0; i < sizeMix.length; i++) {
+            cumulative += builder.sizeWeights[i] / total;
+            sizeMix[i] = cumulative;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Runs the configured traffic against lot, which should be a fresh
+     * ParkingLot.newInstance() with its floors and strategy already set up.
+     */
+    public SimulationReport run(ParkingLot lot, String label) {
+        VirtualClock clock = new VirtualClock(startMillis);
+        lot.setClock(clock);
+        lot.setEventSink(ParkingEventSink.NO_OP);
+        AvailabilitySnapshot initial = lot.availability();
+        long capacity = 0;
+        for (VehicleSize size : VehicleSize.values()) {
+            capacity += initial.totalFree(size) + initial.totalOccupied(size);
+        }
+        SimulationReport report = new SimulationReport(label, capacity, sampleIntervalMillis);
+        SplittableRandom random = new SplittableRandom(seed);
+        Parked parked = new Parked();
+        VehiclePool pool = new VehiclePool();
+        EventQueue queue = new EventQueue();
+        long end = startMillis + durationMillis;
+        queue.push(arrivals.nextArrival(startMillis, random), ARRIVAL, 0);
+        queue.push(startMillis, SAMPLE, 0);
+
+        long events = 0;
+        long lastTime = startMillis;
+        int occupied = 0;
+        long wallStart = System.nanoTime();
+        while (!queue.isEmpty() && queue.peekTime() < end) {
+            queue.pop();
+            long now = queue.time;
+            report.occupancy(occupied, now - lastTime);
+            lastTime = now;
+            clock.set(now);
+            events++;
+            switch (queue.kind) {
+                case ARRIVAL: {
+                    int size = pickSize(random);
+                    Vehicle vehicle = pool.take(size);
+                    long before = System.nanoTime();
+                    Optional<ParkingTicket> ticket = lot.parkVehicle(vehicle);
+                    report.arrival(size, ticket.isPresent(), System.nanoTime() - before);
+                    if (ticket.isPresent()) {
+                        int slot = parked.add(ticket.get().getTicketId(), vehicle);
+                        queue.push(now + dwell.sample(random), DEPARTURE, slot);
+                        occupied++;
+                    } else {
+                        pool.give(size, vehicle);
+                    }
+                    queue.push(arrivals.nextArrival(now, random), ARRIVAL, 0);
+                    break;
+                }
+                case DEPARTURE: {
+                    int slot = queue.payload;
+                    report.departure(lot.unparkVehicle(parked.ticketIds[slot]).orElse(0.0));
+                    Vehicle vehicle = parked.remove(slot);
+                    pool.give(vehicle.getSize().ordinal(), vehicle);
+                    occupied--;
+                    break;
+                }
+                default:
+                    report.sample(occupied);
+                    queue.push(now + sampleIntervalMillis, SAMPLE, 0);
+            }
+        }
+        report.occupancy(occupied, end - lastTime);
+        report.finish(events, System.nanoTime() - wallStart);
+        return report;
+    }
+
+    private int pickSize(SplittableRandom random) {
+        double u = random.nextDouble();
+        for (int i = 0; i < sizeMix.length - 1; i++) {
+            if (u < sizeMix[i]) {
+                return i;
+            }
+        }
+        return sizeMix.length - 1;
+    }
+
+    // ticket id and vehicle per parked vehicle; departure events carry the slot
+    private static final class Parked {
+        long[] ticketIds = new long[1024];
+        Vehicle[] vehicles = new Vehicle[1024];
+        int[] freeSlots = new int[1024];
+        int freeCount;
+        int used;
+
+        int add(long ticketId, Vehicle vehicle) {
+            int slot;
+            if (freeCount > 0) {
+                slot = freeSlots[--freeCount];
+            } else {
+                if (used == ticketIds.length) {
+                    ticketIds = Arrays.copyOf(ticketIds, used * 2);
+                    vehicles = Arrays.copyOf(vehicles, used * 2);
+                    freeSlots = Arrays.copyOf(freeSlots, used * 2);
+                }
+                slot = used++;
+            }
+            ticketIds[slot] = ticketId;
+            vehicles[slot] = vehicle;
+            return slot;
+        }
+
+        Vehicle remove(int slot) {
+            Vehicle vehicle = vehicles[slot];
+            vehicles[slot] = null;
+            freeSlots[freeCount++] = slot;
+            return vehicle;
+        }
+    }
+
+    private static final class VehiclePool {
+        @SuppressWarnings("unchecked")
+        private final ArrayDeque<Vehicle>[] free = (ArrayDeque<Vehicle>[]) new ArrayDeque<?>[VehicleSize.values().length];
+        private long created;
+
+        VehiclePool() {
+            for (int i = 0; i < free.length; i++) {
+                free[i] = new ArrayDeque<>();
+            }
+        }
+
+        Vehicle take(int size) {
+            Vehicle vehicle = free[size].pollFirst();
+            if (vehicle != null) {
+                return vehicle;
+            }
+            String plate = "SIM-" + (++created);
+            switch (VehicleSize.values()[size]) {
+                case SMALL:
+                    return new Bike(plate);
+                case MEDIUM:
+                    return new Car(plate);
+                default:
+                    return new Truck(plate);
+            }
+        }
+
+        void give(int size, Vehicle vehicle) {
+            free[size].addFirst(vehicle);
+        }
+    }
+
+    public static final class Builder {
+        private long seed = 1;
+        private long startMillis = 1_767_225_600_000L; // 2026-01-01T00:00:00Z
+        private Duration duration = Duration.ofDays(30);
+        private Duration sampleInterval = Duration.ofHours(1);
+        private ArrivalProcess arrivals = ArrivalProcess.poisson(100);
+        private DwellTime dwell = DwellTime.exponential(Duration.ofHours(2));
+        private double[] sizeWeights = {0.2, 0.7, 0.1};
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder start(long startMillis) {
+            this.startMillis = startMillis;
+            return this;
+        }
+
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public Builder sampleEvery(Duration sampleInterval) {
+            this.sampleInterval = sampleInterval;
+            return this;
+        }
+
+        public Builder arrivals(ArrivalProcess arrivals) {
+            this.arrivals = arrivals;
+            return this;
+        }
+
+        public Builder dwell(DwellTime dwell) {
+            this.dwell = dwell;
+            return this;
+        }
+
+        /**
+         * Relative share of SMALL, MEDIUM and LARGE vehicles among arrivals.
+         */
+        public Builder sizeMix(double small, double medium, double large) {
+            this.sizeWeights = new double[] {small, medium, large};
+            return this;
+        }
+
+        public ParkingSimulator build() {
+            return new ParkingSimulator(this);
+        }
+    }
+}
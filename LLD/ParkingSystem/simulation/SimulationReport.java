@@ -0,0 +1,129 @@
+package LLD.ParkingSystem.simulation;
+
+import java.util.Arrays;
+
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+
+/**
+ * Outcome of one simulation run: demand served vs rejected, occupancy over time,
+ * and how long the parking strategy took per arrival (wall-clock nanoseconds).
+ */
+public final class SimulationReport {
+    private final String strategy;
+    private final long capacity;
+    private final long[] arrivals = new long[VehicleSize.values().length];
+    private final long[] rejections = new long[VehicleSize.values().length];
+    private final LatencyHistogram parkLatency = new LatencyHistogram();
+    private final long sampleIntervalMillis;
+    private long[] occupancySamples = new long[256];
+    private int sampleCount;
+    private long departures;
+    private long events;
+    private double revenue;
+    private double occupiedSpotMillis;
+    private long simulatedMillis;
+    private int peakOccupancy;
+    private long wallNanos;
+
+    SimulationReport(String strategy, long capacity, long sampleIntervalMillis) {
+        this.strategy = strategy;
+        this.capacity = capacity;
+        this.sampleIntervalMillis = sampleIntervalMillis;
+    }
+
+    void arrival(int sizeOrdinal, boolean parked, long latencyNanos) {
+        arrivals[sizeOrdinal]++;
+        if (!parked) {
+            rejections[sizeOrdinal]++;
+        }
+        parkLatency.record(latencyNanos);
+    }
+
+    void departure(double fee) {
+        departures++;
+        revenue += fee;
+    }
+
+    void occupancy(int occupied, long forMillis) {
+        occupiedSpotMillis += (double) occupied * forMillis;
+        simulatedMillis += forMillis;
+        peakOccupancy = Math.max(peakOccupancy, occupied);
+    }
+
+    void sample(int occupied) {
+        if (sampleCount == occupancySamples.length) {
+            occupancySamples = Arrays.copyOf(occupancySamples, sampleCount * 2);
+        }
+        occupancySamples[sampleCount++] = occupied;
+    }
+
+    void finish(long eventCount, long elapsedNanos) {
+        this.events = eventCount;
+        this.wallNanos = elapsedNanos;
+    }
+
+    public long arrivals() {
+        return Arrays.stream(arrivals).sum();
+    }
+
+    public long rejections() {
+        return Arrays.stream(rejections).sum();
+    }
+
+    public double rejectionRate() {
+        long total = arrivals();
+        return total == 0 ? 0 : (double) rejections() / total;
+    }
+
+    public double rejectionRate(VehicleSize size) {
+        long total = arrivals[size.ordinal()];
+        return total == 0 ? 0 : (double) rejections[size.ordinal()] / total;
+    }
+
+    public long departures() {
+        return departures;
+    }
+
+    public double revenue() {
+        return revenue;
+    }
+
+    /**
+     * Time-weighted mean share of spots occupied over the run.
+     */
+    public double meanUtilization() {
+        return simulatedMillis == 0 || capacity == 0 ? 0 : occupiedSpotMillis / simulatedMillis / capacity;
+    }
+
+    public int peakOccupancy() {
+        return peakOccupancy;
+    }
+
+    /**
+     * Occupied spots at every sample interval from the start of the run.
+     */
+    public long[] occupancyTimeline() {
+        return Arrays.copyOf(occupancySamples, sampleCount);
+    }
+
+    public long sampleIntervalMillis() {
+        return sampleIntervalMillis;
+    }
+
+    public long parkLatencyPercentile(double percentile) {
+        return parkLatency.percentile(percentile);
+    }
+
+    public double eventsPerSecond() {
+        return wallNanos == 0 ? 0 : events * 1e9 / wallNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-22s arrivals=%d rejected=%.2f%% utilization=%.1f%% peak=%d/%d revenue=$%.0f"
+                        + " park p50=%dns p99=%dns p99.9=%dns max=%dns | %d events, %.2fM events/s",
+                strategy, arrivals(), 100 * rejectionRate(), 100 * meanUtilization(), peakOccupancy, capacity, revenue,
+                parkLatency.percentile(50), parkLatency.percentile(99), parkLatency.percentile(99.9), parkLatency.max(),
+                events, eventsPerSecond() / 1e6);
+    }
+}
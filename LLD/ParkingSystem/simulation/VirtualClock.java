@@ -0,0 +1,57 @@
+package LLD.ParkingSystem.simulation;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Clock that only moves when the simulator advances it, so a month of simulated
+ * traffic stamps tickets with simulated time and runs as fast as the CPU allows.
+ */
+public final class VirtualClock extends Clock {
+    // shared by every zone view of this clock; written by the simulator, read by gates
+    private static final class Time {
+        volatile long millis;
+    }
+
+    private final Time time;
+    private final ZoneId zone;
+
+    public VirtualClock(long startMillis) {
+        this(new Time(), ZoneOffset.UTC);
+        time.millis = startMillis;
+    }
+
+    private VirtualClock(Time time, ZoneId zone) {
+        this.time = time;
+        this.zone = zone;
+    }
+
+    public void set(long millis) {
+        time.millis = millis;
+    }
+
+    @Override
+    public long millis() {
+        return time.millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(time.millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Same simulated time seen in another zone; setting either clock moves both.
+     */
+    @Override
+    public VirtualClock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new VirtualClock(time, zone);
+    }
+}
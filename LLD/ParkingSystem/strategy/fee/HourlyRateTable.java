@@ -0,0 +1,54 @@
+package LLD.ParkingSystem.strategy.fee;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+
+/**
+ * Hourly rate per VehicleSize, precomputed into an array indexed by ordinal so a
+ * lookup is a single array load (no Map/enum hashing on the billing path).
+ * Every started hour is billed, as in the fee strategies.
+ */
+public final class HourlyRateTable implements TicketFeeFunction {
+    private static final long HOUR_MILLIS = 1000 * 60 * 60;
+
+    private final double[] ratePerHour;
+
+    private HourlyRateTable(double[] ratePerHour)
+    {
+        this.ratePerHour = ratePerHour;
+    }
+
+    /**
+     * Sizes missing from rates are billed at 0.
+     */
+    public static HourlyRateTable of(Map<VehicleSize, Double> rates)
+    {
+        double[] table=new double[VehicleSize.values().length];
+        for(VehicleSize size:VehicleSize.values())
+        {
+            table[size.ordinal()]=rates.getOrDefault(size, 0.0);
+        }
+        return new HourlyRateTable(table);
+    }
+
+    public static HourlyRateTable flat(double ratePerHour)
+    {
+        double[] table=new double[VehicleSize.values().length];
+        Arrays.fill(table, ratePerHour);
+        return new HourlyRateTable(table);
+    }
+
+    public double rateFor(VehicleSize size)
+    {
+        return ratePerHour[size.ordinal()];
+    }
+
+    @Override
+    public double fee(int sizeOrdinal, long entryTime, long exitTime)
+    {
+        long hours=(exitTime-entryTime)/HOUR_MILLIS+1;
+        return hours*ratePerHour[sizeOrdinal];
+    }
+}
@@ -0,0 +1,219 @@
+package LLD.ParkingSystem.strategy.fee;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingTicket;
+
+/**
+ * Time-of-day tariff: base rate, peak/off-peak/weekend bands, a daily cap, a grace
+ * period and per-size multipliers.
+ *
+ * The builder compiles the rules once into primitive arrays:
+ * - costBefore[m]: cumulative cost of minutes [0, m) of the week (Monday 00:00 = 0),
+ *   i.e. prefix sums over a minute-of-week rate table
+ * - multiplier[size ordinal]
+ * so the cost of any interval is two array loads plus whole weeks times the weekly
+ * cost: O(1) without a cap, O(days) with a daily cap, and never allocates.
+ *
+ * Stays are billed per started minute of the stay, counted from entry (a 40 s stay
+ * across a minute boundary is one minute), and each minute is priced at the rate of
+ * the wall-clock minute it starts in, in the tariff's fixed zone offset. The
+ * daily cap applies per calendar day and scales with the size multiplier.
+ */
+public class TariffFeeStrategy implements FeeStrategy, TicketFeeFunction {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    private static final long MILLIS_PER_MINUTE = 60_000;
+    // 1970-01-01 was a Thursday: shifts epoch minutes so that Monday 00:00 is 0
+    private static final long EPOCH_MINUTE_OF_WEEK = 3L * MINUTES_PER_DAY;
+
+    private final double[] costBefore;
+    private final double[] multiplier;
+    private final double dailyCap;
+    private final long graceMillis;
+    private final long offsetMillis;
+
+    private TariffFeeStrategy(double[] costBefore, double[] multiplier, double dailyCap, long graceMillis, long offsetMillis) {
+        this.costBefore = costBefore;
+        this.multiplier = multiplier;
+        this.dailyCap = dailyCap;
+        this.graceMillis = graceMillis;
+        this.offsetMillis = offsetMillis;
+    }
+
+    public static Builder builder(ZoneOffset zone) {
+        return new Builder(zone);
+    }
+
+    @Override
+    public double CalculateFee(ParkingTicket ticket) {
+        return fee(ticket.getVehicle().getSize().ordinal(), ticket.getEntryTime(), ticket.getExitTime());
+    }
+
+    @Override
+    public double fee(int sizeOrdinal, long entryTime, long exitTime) {
+        if (exitTime - entryTime <= graceMillis) {
+            return 0;
+        }
+        long from = Math.floorDiv(entryTime + offsetMillis, MILLIS_PER_MINUTE);
+        long to = from + Math.floorDiv(exitTime - entryTime + MILLIS_PER_MINUTE - 1, MILLIS_PER_MINUTE);
+        if (dailyCap == Double.POSITIVE_INFINITY) {
+            return multiplier[sizeOrdinal] * cost(from, to);
+        }
+        double total = 0;
+        while (from < to) {
+            long end = Math.min(to, (Math.floorDiv(from, MINUTES_PER_DAY) + 1) * MINUTES_PER_DAY);
+            total += Math.min(cost(from, end), dailyCap);
+            from = end;
+        }
+        return multiplier[sizeOrdinal] * total;
+    }
+
+    // cost of local minutes [from, to), before the size multiplier
+    private double cost(long from, long to) {
+        long weeks = (to - from) / MINUTES_PER_WEEK;
+        double total = weeks * costBefore[MINUTES_PER_WEEK];
+        from += weeks * MINUTES_PER_WEEK;
+        if (from == to) {
+            return total;
+        }
+        int a = minuteOfWeek(from);
+        int b = minuteOfWeek(to);
+        return a < b ? total + costBefore[b] - costBefore[a]
+                     : total + costBefore[MINUTES_PER_WEEK] - costBefore[a] + costBefore[b];
+    }
+
+    private static int minuteOfWeek(long localMinute) {
+        return (int) Math.floorMod(localMinute + EPOCH_MINUTE_OF_WEEK, (long) MINUTES_PER_WEEK);
+    }
+
+    public static final class Builder {
+        private final ZoneOffset zone;
+        private final List<Band> bands = new ArrayList<>();
+        private final double[] multiplier = new double[VehicleSize.values().length];
+        private double baseRatePerHour;
+        private double dailyCap = Double.POSITIVE_INFINITY;
+        private Duration gracePeriod = Duration.ZERO;
+
+        private Builder(ZoneOffset zone) {
+            this.zone = zone;
+            Arrays.fill(multiplier, 1.0);
+        }
+
+        /**
+         * Hourly rate for every minute not covered by a band.
+         */
+        public Builder baseRate(double ratePerHour) {
+            this.baseRatePerHour = checkRate(ratePerHour, "base rate");
+            return this;
+        }
+
+        /**
+         * Hourly rate from start to end on the given days. end <= start runs past
+         * midnight into the next day (start == end covers the whole day). Later
+         * bands override earlier ones where they overlap. Start and end are used to
+         * the minute, so seconds must be zero.
+         */
+        public Builder band(Set<DayOfWeek> days, LocalTime start, LocalTime end, double ratePerHour) {
+            Objects.requireNonNull(days, "days");
+            Objects.requireNonNull(start, "start");
+            Objects.requireNonNull(end, "end");
+            if (days.isEmpty()) {
+                throw new IllegalArgumentException("band " + start + "-" + end + " has no days");
+            }
+            if (days.contains(null)) {
+                throw new IllegalArgumentException("band " + start + "-" + end + " has a null day: " + days);
+            }
+            if (start.getSecond() != 0 || start.getNano() != 0 || end.getSecond() != 0 || end.getNano() != 0) {
+                throw new IllegalArgumentException("band " + start + "-" + end + " must start and end on a whole minute");
+            }
+            checkRate(ratePerHour, "band " + start + "-" + end + " rate");
+            bands.add(new Band(EnumSet.copyOf(days), start, end, ratePerHour));
+            return this;
+        }
+
+        public Builder weekendRate(double ratePerHour) {
+            return band(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), LocalTime.MIDNIGHT, LocalTime.MIDNIGHT, ratePerHour);
+        }
+
+        /**
+         * Maximum charged per calendar day (before the size multiplier).
+         */
+        public Builder dailyCap(double cap) {
+            if (Double.isNaN(cap) || cap < 0) {
+                throw new IllegalArgumentException("daily cap must be non-negative: " + cap);
+            }
+            this.dailyCap = cap;
+            return this;
+        }
+
+        /**
+         * Stays no longer than this are free.
+         */
+        public Builder gracePeriod(Duration gracePeriod) {
+            if (gracePeriod.isNegative()) {
+                throw new IllegalArgumentException("grace period must not be negative: " + gracePeriod);
+            }
+            this.gracePeriod = gracePeriod;
+            return this;
+        }
+
+        public Builder sizeMultiplier(VehicleSize size, double factor) {
+            multiplier[size.ordinal()] = checkRate(factor, size + " multiplier");
+            return this;
+        }
+
+        private static double checkRate(double value, String what) {
+            if (!Double.isFinite(value) || value < 0) {
+                throw new IllegalArgumentException(what + " must be finite and non-negative: " + value);
+            }
+            return value;
+        }
+
+        public TariffFeeStrategy build() {
+            double[] ratePerMinute = new double[MINUTES_PER_WEEK];
+            Arrays.fill(ratePerMinute, baseRatePerHour / 60);
+            for (Band band : bands) {
+                int start = band.start.getHour() * 60 + band.start.getMinute();
+                int end = band.end.getHour() * 60 + band.end.getMinute();
+                int length = end > start ? end - start : end - start + MINUTES_PER_DAY;
+                for (DayOfWeek day : band.days) {
+                    int first = (day.getValue() - 1) * MINUTES_PER_DAY + start;
+                    for (int m = 0; m < length; m++) {
+                        ratePerMinute[(first + m) % MINUTES_PER_WEEK] = band.ratePerHour / 60;
+                    }
+                }
+            }
+            double[] costBefore = new double[MINUTES_PER_WEEK + 1];
+            for (int m = 0; m < MINUTES_PER_WEEK; m++) {
+                costBefore[m + 1] = costBefore[m] + ratePerMinute[m];
+            }
+            return new TariffFeeStrategy(costBefore, multiplier.clone(), dailyCap, gracePeriod.toMillis(),
+                    zone.getTotalSeconds() * 1000L);
+        }
+    }
+
+    private static final class Band {
+        final Set<DayOfWeek> days;
+        final LocalTime start;
+        final LocalTime end;
+        final double ratePerHour;
+
+        Band(Set<DayOfWeek> days, LocalTime start, LocalTime end, double ratePerHour) {
+            this.days = days;
+            this.start = start;
+            this.end = end;
+            this.ratePerHour = ratePerHour;
+        }
+    }
+}
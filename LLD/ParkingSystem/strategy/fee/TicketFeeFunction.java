@@ -0,0 +1,10 @@
+package LLD.ParkingSystem.strategy.fee;
+
+/**
+ * Fee computed from primitive ticket fields only, so bulk paths (settlement over
+ * millions of stored tickets) can price a record without building a ParkingTicket.
+ */
+@FunctionalInterface
+public interface TicketFeeFunction {
+    double fee(int sizeOrdinal, long entryTime, long exitTime);
+}
@@ -0,0 +1,46 @@
+package LLD.ParkingSystem.strategy.parking;
+
+import java.util.List;
+
+import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingFloor;
+import LLD.ParkingSystem.index.LotAvailabilityIndex;
+
+/**
+ * Shared batch allocation for the built-in strategies: walks the floors that the
+ * index reports with capacity, in strategy order, and fills each one as far as
+ * it goes before moving on, so every floor is visited at most once per batch.
+ */
+final class BatchClaims {
+    private BatchClaims() {
+    }
+
+    static LLD.ParkingSystem.entities.ParkingSpot[] lowestFloorsFirst(List<ParkingFloor> floors, LotAvailabilityIndex index, List<Vehicle> vehicles)
+    {
+        LLD.ParkingSystem.entities.ParkingSpot[] spots = new LLD.ParkingSystem.entities.ParkingSpot[vehicles.size()];
+        if (vehicles.isEmpty()) {
+            return spots;
+        }
+        VehicleSize size = vehicles.get(0).getSize();
+        int claimed = 0;
+        for (int pos = index.firstFloorWithSpace(size); pos >= 0 && claimed < spots.length; pos = index.nextFloorWithSpace(size, pos)) {
+            claimed += floors.get(pos).claimAvailableSpots(vehicles, claimed, spots);
+        }
+        return spots;
+    }
+
+    static LLD.ParkingSystem.entities.ParkingSpot[] highestFloorsFirst(List<ParkingFloor> floors, LotAvailabilityIndex index, List<Vehicle> vehicles)
+    {
+        LLD.ParkingSystem.entities.ParkingSpot[] spots = new LLD.ParkingSystem.entities.ParkingSpot[vehicles.size()];
+        if (vehicles.isEmpty()) {
+            return spots;
+        }
+        VehicleSize size = vehicles.get(0).getSize();
+        int claimed = 0;
+        for (int pos = index.lastFloorWithSpace(size); pos >= 0 && claimed < spots.length; pos = index.previousFloorWithSpace(size, pos)) {
+            claimed += floors.get(pos).claimAvailableSpots(vehicles, claimed, spots);
+        }
+        return spots;
+    }
+}
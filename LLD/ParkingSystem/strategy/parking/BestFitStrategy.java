@@ -4,29 +4,58 @@ import java.util.List;
 import java.util.Optional;
 
 import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
 import LLD.ParkingSystem.entities.ParkingFloor;
+import LLD.ParkingSystem.index.LotAvailabilityIndex;
 
 public class BestFitStrategy implements ParkingSpot {
 
     @Override
     public Optional<LLD.ParkingSystem.entities.ParkingSpot> findSpot(List<ParkingFloor> floors, Vehicle vehicle) {
-        // Implementation for Best Fit Strategy
-           Optional<LLD.ParkingSystem.entities.ParkingSpot> bestSpot=Optional.empty();
+        // Pick the smallest fitting spot across floors, then claim it; if another
+        // gate wins the race for that spot, search again.
+        while(true)
+        {
+           LLD.ParkingSystem.entities.ParkingSpot bestSpot=null;
            for(ParkingFloor floor:floors)
            {
             Optional<LLD.ParkingSystem.entities.ParkingSpot> spot=floor.findAvailableSpot(vehicle);
-            if(spot.isPresent())
-            {   if(bestSpot.isEmpty()){
-
-            
-                bestSpot=spot;}
-                else if(spot.get().getSpotSize().ordinal()<bestSpot.get().getSpotSize().ordinal())
-                {
-                    bestSpot=spot;
-                }
+            if(spot.isPresent() && (bestSpot==null || spot.get().getSpotSize().ordinal()<bestSpot.getSpotSize().ordinal()))
+            {
+                bestSpot=spot.get();
             }
            }
-           return bestSpot;
+           if(bestSpot==null)
+           {
+            return Optional.empty();
+           }
+           if(bestSpot.tryClaim(vehicle))
+           {
+            return Optional.of(bestSpot);
+           }
+        }
+    }
+
+    @Override
+    public Optional<LLD.ParkingSystem.entities.ParkingSpot> findSpot(List<ParkingFloor> floors, LotAvailabilityIndex index, Vehicle vehicle) {
+        // Spots only fit vehicles of their own size, so the best fit is any spot of
+        // the vehicle's size; take the first floor the index reports with one.
+        VehicleSize size=vehicle.getSize();
+        for(int pos=index.firstFloorWithSpace(size); pos>=0; pos=index.nextFloorWithSpace(size, pos))
+        {
+            Optional<LLD.ParkingSystem.entities.ParkingSpot> spot=floors.get(pos).claimAvailableSpot(vehicle);
+            if(spot.isPresent())
+            {
+                return spot;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public LLD.ParkingSystem.entities.ParkingSpot[] findSpots(List<ParkingFloor> floors, LotAvailabilityIndex index, List<Vehicle> vehicles)
+    {
+        return BatchClaims.lowestFloorsFirst(floors, index, vehicles);
     }
     
 }
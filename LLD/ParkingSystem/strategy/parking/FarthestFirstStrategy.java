@@ -1,25 +1,42 @@
 package LLD.ParkingSystem.strategy.parking;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
 import LLD.ParkingSystem.entities.ParkingFloor;
+import LLD.ParkingSystem.index.LotAvailabilityIndex;
 
 public class FarthestFirstStrategy implements ParkingSpot{
     @Override
      public Optional<LLD.ParkingSystem.entities.ParkingSpot> findSpot(List<ParkingFloor> floors, Vehicle vehicle) {
-        List<ParkingFloor> reversedFloor=new ArrayList<>(floors);
-        Collections.reverse(reversedFloor);
-        for (ParkingFloor floor : reversedFloor) {
-            Optional<LLD.ParkingSystem.entities.ParkingSpot> spot = floor.findAvailableSpot(vehicle);
+        for (int i = floors.size() - 1; i >= 0; i--) {
+            Optional<LLD.ParkingSystem.entities.ParkingSpot> spot = floors.get(i).claimAvailableSpot(vehicle);
             if (spot.isPresent()) {
                 return spot;
             }
         }
         return Optional.empty();
     }
+
+    @Override
+    public Optional<LLD.ParkingSystem.entities.ParkingSpot> findSpot(List<ParkingFloor> floors, LotAvailabilityIndex index, Vehicle vehicle) {
+        // highest floor that the index says has space; on a lost race try the one below
+        VehicleSize size = vehicle.getSize();
+        for (int pos = index.lastFloorWithSpace(size); pos >= 0; pos = index.previousFloorWithSpace(size, pos)) {
+            Optional<LLD.ParkingSystem.entities.ParkingSpot> spot = floors.get(pos).claimAvailableSpot(vehicle);
+            if (spot.isPresent()) {
+                return spot;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public LLD.ParkingSystem.entities.ParkingSpot[] findSpots(List<ParkingFloor> floors, LotAvailabilityIndex index, List<Vehicle> vehicles)
+    {
+        return BatchClaims.highestFloorsFirst(floors, index, vehicles);
+    }
     
 }
@@ -4,24 +4,46 @@ import java.util.List;
 import java.util.Optional;
 
 import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
 import LLD.ParkingSystem.entities.ParkingFloor;
+import LLD.ParkingSystem.index.LotAvailabilityIndex;
 
 public class NearestFirstStrategy implements ParkingSpot {
 
     @Override
     public Optional<LLD.ParkingSystem.entities.ParkingSpot> findSpot(List<ParkingFloor> floors, Vehicle vehicle) 
     {
-        Optional<LLD.ParkingSystem.entities.ParkingSpot> bestSpot=Optional.empty();
         for(ParkingFloor floor:floors)
         {
-           Optional<LLD.ParkingSystem.entities.ParkingSpot> spot= floor.findAvailableSpot(vehicle);
+           Optional<LLD.ParkingSystem.entities.ParkingSpot> spot= floor.claimAvailableSpot(vehicle);
            if(spot.isPresent())
            {
-            bestSpot=spot;;
-            break;
+            return spot;
            }
         }
-        return bestSpot;
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<LLD.ParkingSystem.entities.ParkingSpot> findSpot(List<ParkingFloor> floors, LotAvailabilityIndex index, Vehicle vehicle)
+    {
+        // lowest floor that the index says has space; on a lost race try the next one
+        VehicleSize size=vehicle.getSize();
+        for(int pos=index.firstFloorWithSpace(size); pos>=0; pos=index.nextFloorWithSpace(size, pos))
+        {
+            Optional<LLD.ParkingSystem.entities.ParkingSpot> spot=floors.get(pos).claimAvailableSpot(vehicle);
+            if(spot.isPresent())
+            {
+                return spot;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public LLD.ParkingSystem.entities.ParkingSpot[] findSpots(List<ParkingFloor> floors, LotAvailabilityIndex index, List<Vehicle> vehicles)
+    {
+        return BatchClaims.lowestFloorsFirst(floors, index, vehicles);
     }
     
 }
@@ -5,10 +5,39 @@ import java.util.Optional;
 
 import LLD.ParkingSystem.Vehicle.Vehicle;
 import LLD.ParkingSystem.entities.ParkingFloor;
+import LLD.ParkingSystem.index.LotAvailabilityIndex;
 
 public interface ParkingSpot  {
 
+    /**
+     * Finds a spot for the vehicle and claims it (ParkingSpot.tryClaim) before
+     * returning, so the returned spot is already occupied by this vehicle.
+     */
     Optional<LLD.ParkingSystem.entities.ParkingSpot> findSpot(List<ParkingFloor> floors, Vehicle vehicle);
 
+    /**
+     * Same contract, but may use the lot-wide index (positions match the floors
+     * list) to skip floors without capacity. Defaults to the plain search.
+     */
+    default Optional<LLD.ParkingSystem.entities.ParkingSpot> findSpot(List<ParkingFloor> floors, LotAvailabilityIndex index, Vehicle vehicle)
+    {
+        return findSpot(floors, vehicle);
+    }
+
+    /**
+     * Claims spots for a batch of vehicles that all have the same VehicleSize.
+     * Element i of the result is the spot claimed for vehicles.get(i), or null if
+     * the lot ran out; earlier vehicles in the list are served first. The default
+     * searches once per vehicle; built-in strategies allocate in a single pass.
+     */
+    default LLD.ParkingSystem.entities.ParkingSpot[] findSpots(List<ParkingFloor> floors, LotAvailabilityIndex index, List<Vehicle> vehicles)
+    {
+        LLD.ParkingSystem.entities.ParkingSpot[] spots=new LLD.ParkingSystem.entities.ParkingSpot[vehicles.size()];
+        for(int i=0;i<spots.length;i++)
+        {
+            spots[i]=findSpot(floors, index, vehicles.get(i)).orElse(null);
+        }
+        return spots;
+    }
     
-} 
+}
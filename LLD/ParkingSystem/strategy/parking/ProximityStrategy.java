@@ -0,0 +1,55 @@
+package LLD.ParkingSystem.strategy.parking;
+
+import java.util.List;
+import java.util.Optional;
+
+import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingFloor;
+import LLD.ParkingSystem.index.LotAvailabilityIndex;
+
+/**
+ * Parks on the lowest floor with space, in the free spot closest to a fixed point
+ * of the floor plan (the entrance, or the elevator/stair core that sits at the
+ * same position on every floor), so drivers walk less. Each floor answers from
+ * its spatial index in O(log n) (ParkingFloor.claimNearestSpot).
+ */
+public class ProximityStrategy implements ParkingSpot {
+    private final double anchorX;
+    private final double anchorY;
+
+    public ProximityStrategy(double anchorX, double anchorY)
+    {
+        this.anchorX=anchorX;
+        this.anchorY=anchorY;
+    }
+
+    @Override
+    public Optional<LLD.ParkingSystem.entities.ParkingSpot> findSpot(List<ParkingFloor> floors, Vehicle vehicle)
+    {
+        for(ParkingFloor floor:floors)
+        {
+            Optional<LLD.ParkingSystem.entities.ParkingSpot> spot=floor.claimNearestSpot(vehicle, anchorX, anchorY);
+            if(spot.isPresent())
+            {
+                return spot;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<LLD.ParkingSystem.entities.ParkingSpot> findSpot(List<ParkingFloor> floors, LotAvailabilityIndex index, Vehicle vehicle)
+    {
+        VehicleSize size=vehicle.getSize();
+        for(int pos=index.firstFloorWithSpace(size); pos>=0; pos=index.nextFloorWithSpace(size, pos))
+        {
+            Optional<LLD.ParkingSystem.entities.ParkingSpot> spot=floors.get(pos).claimNearestSpot(vehicle, anchorX, anchorY);
+            if(spot.isPresent())
+            {
+                return spot;
+            }
+        }
+        return Optional.empty();
+    }
+}
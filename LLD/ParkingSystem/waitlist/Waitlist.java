@@ -0,0 +1,126 @@
+package LLD.ParkingSystem.waitlist;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import LLD.ParkingSystem.Vehicle.Vehicle;
+import LLD.ParkingSystem.Vehicle.VehicleSize;
+import LLD.ParkingSystem.entities.ParkingTicket;
+
+/**
+ * Vehicles waiting for a spot, in a fair FIFO queue per VehicleSize.
+ *
+ * A waiter is served at most once: whoever wins the CAS on its claimed flag (an
+ * exit handing over a spot, the timeout, or the caller cancelling its future)
+ * decides its outcome, so a cancel that loses to a handover returns false and the
+ * future still gets its ticket. Claimed waiters are skipped when the queue is polled.
+ * Waiting costs no CPU: there is no polling, only a future completed by the exit
+ * that frees a matching spot.
+ */
+public final class Waitlist {
+    private final Map<VehicleSize, Queue<Waiter>> queues = new EnumMap<>(VehicleSize.class);
+
+    public Waitlist() {
+        for (VehicleSize size : VehicleSize.values()) {
+            queues.put(size, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    public static final class Waiter {
+        private final Vehicle vehicle;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<ParkingTicket> future = new WaiterFuture(claimed);
+
+        private Waiter(Vehicle vehicle) {
+            this.vehicle = vehicle;
+        }
+
+        public Vehicle getVehicle() {
+            return vehicle;
+        }
+
+        public CompletableFuture<ParkingTicket> getFuture() {
+            return future;
+        }
+    }
+
+    // cancel() must win the claim first, like the timeout, so it cannot race a handover
+    private static final class WaiterFuture extends CompletableFuture<ParkingTicket> {
+        private final AtomicBoolean claimed;
+
+        WaiterFuture(AtomicBoolean claimed) {
+            this.claimed = claimed;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return claimed.compareAndSet(false, true) && super.cancel(mayInterruptIfRunning);
+        }
+
+        // dependent stages are plain futures
+        @Override
+        public <U> CompletableFuture<U> newIncompleteFuture() {
+            return new CompletableFuture<>();
+        }
+    }
+
+    /**
+     * Queues vehicle behind earlier waiters of its size. If no spot is handed to it
+     * within timeout, its future fails with a TimeoutException.
+     */
+    public Waiter enqueue(Vehicle vehicle, Duration timeout) {
+        Waiter waiter = new Waiter(vehicle);
+        Queue<Waiter> queue = queues.get(vehicle.getSize());
+        queue.add(waiter);
+        CompletableFuture.delayedExecutor(timeout.toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            if (waiter.claimed.compareAndSet(false, true)) {
+                queue.remove(waiter);
+                waiter.future.completeExceptionally(new TimeoutException("No " + vehicle.getSize() + " spot within " + timeout));
+            }
+        });
+        return waiter;
+    }
+
+    /**
+     * Removes and claims the longest-waiting live waiter for size, or returns null.
+     * The caller must then complete its future.
+     */
+    public Waiter claimNext(VehicleSize size) {
+        Queue<Waiter> queue = queues.get(size);
+        Waiter waiter;
+        while ((waiter = queue.poll()) != null) {
+            if (!waiter.future.isDone() && waiter.claimed.compareAndSet(false, true)) {
+                return waiter;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Longest-waiting live waiter for size without claiming it, or null. Timed-out
+     * and cancelled waiters at the head are dropped on the way.
+     */
+    public Waiter peek(VehicleSize size) {
+        Queue<Waiter> queue = queues.get(size);
+        Waiter waiter;
+        while ((waiter = queue.peek()) != null && (waiter.future.isDone() || waiter.claimed.get())) {
+            queue.remove(waiter);
+        }
+        return waiter;
+    }
+
+    public boolean hasWaiters(VehicleSize size) {
+        return peek(size) != null;
+    }
+
+    public int size(VehicleSize size) {
+        return queues.get(size).size();
+    }
+}